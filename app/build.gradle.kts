@@ -33,6 +33,7 @@ android {
 
 dependencies {
 
+    implementation(project(":engine"))
     implementation(libs.appcompat)
     implementation(libs.material)
     testImplementation(libs.junit)
@@ -8,32 +8,53 @@ import android.widget.TextView;
 
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
 
-import com.example.a2048game.logic.GameManager;
+import com.example.a2048game.logic.AsyncGameEngine;
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.GameRandom;
+import com.example.a2048game.logic.GameState;
+import com.example.a2048game.logic.ai.HintService;
+import com.example.a2048game.logic.ai.SearchResult;
+import com.example.a2048game.metrics.EngineMetrics;
+import com.example.a2048game.model.BitBoard;
+import com.example.a2048game.storage.GameSnapshot;
+import com.example.a2048game.storage.GameSnapshotStore;
 import com.example.a2048game.storage.ScoreManager;
+import com.example.a2048game.ui.FrameStats;
 import com.example.a2048game.ui.GameView;
 import com.example.a2048game.R;
 import com.google.android.material.appbar.MaterialToolbar;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-import android.content.SharedPreferences;
-
 import java.io.File;
+import java.io.IOException;
 
 public class MainActivity extends AppCompatActivity {
 
     private static final String TAG = "MainActivity";
 
     private GameView gameView;
-    private GameManager gameManager;
+    // El GameManager vive en el hilo del motor; aquí solo se leen sus GameState
+    private AsyncGameEngine engine;
     private TextView tvScore;
     private TextView tvBest;
     private TextView tvMoves;
     private Button btnUndo;
+    private Button btnRedo;
+    private Button btnHint;
     private ImageButton btnRestart;
     private ImageButton btnShowLast;
     private ScoreManager scoreManager;
+    private GameSnapshotStore snapshotStore;
+    private final EngineMetrics metrics = new EngineMetrics();
+    // mientras se lee la partida guardada no se persiste nada (pisaría la que se está cargando)
+    private boolean awaitingRestore = false;
+
+    // Pistas en segundo plano; se cancelan en cuanto cambia el tablero
+    private static final long HINT_BUDGET_MILLIS = 1500;
+    private HintService hintService;
+    private boolean hintActive = false;
+    private long hintBoard;
 
     private static final String KEY_BOARD = "board_flat";
     private static final String KEY_SCORE = "score";
@@ -51,12 +72,19 @@ public class MainActivity extends AppCompatActivity {
             // No usamos setSupportActionBar para evitar conflictos con el tema
             if (toolbar != null) {
                 toolbar.setTitle(R.string.app_title);
+                // pulsación larga: overlay de rendimiento; al desactivarlo se vuelca el informe a fichero
+                toolbar.setOnLongClickListener(v -> {
+                    toggleFrameStats();
+                    return true;
+                });
             }
 
             tvScore = findViewById(R.id.tvScore);
             tvBest = findViewById(R.id.tvBest);
             tvMoves = findViewById(R.id.tvMoves);
             btnUndo = findViewById(R.id.btnUndo);
+            btnRedo = findViewById(R.id.btnRedo);
+            btnHint = findViewById(R.id.btnHint);
             btnRestart = findViewById(R.id.btnRestart);
             btnShowLast = findViewById(R.id.btnShowLast);
             gameView = findViewById(R.id.gameView);
@@ -84,37 +112,29 @@ public class MainActivity extends AppCompatActivity {
         }
 
         scoreManager = new ScoreManager(this);
-        gameManager = new GameManager(new GameManager.OnScoreChangedListener() {
-            @Override
-            public void onScoreChanged(int newScore) {
-                updateScoreViews(newScore);
-            }
-        }, new GameManager.OnGameOverListener() {
-            @Override
-            public void onGameOver() {
-                MainActivity.this.onGameOver();
-            }
-        }, scoreManager.getBestScore());
-        gameManager.setOnWinListener(new GameManager.OnWinListener() {
+        // también migra, en su hilo de IO, la partida en JSON de versiones anteriores
+        snapshotStore = new GameSnapshotStore(this);
+        engine = AsyncGameEngine.threaded(scoreManager.getBestScore(), new GameRandom(), ContextCompat.getMainExecutor(this));
+        engine.addStateListener(new AsyncGameEngine.StateListener() {
             @Override
-            public void onWin() {
-                MainActivity.this.onWin();
+            public void onState(GameState state) {
+                onGameState(state);
             }
         });
-        if (gameView != null) gameView.setGameManager(gameManager);
+        hintService = new HintService(ContextCompat.getMainExecutor(this));
+        engine.setMetrics(metrics);
+        snapshotStore.setMetrics(metrics);
+        if (gameView != null) gameView.setEngine(engine);
         if (savedInstanceState != null && savedInstanceState.containsKey(KEY_BOARD)) {
-            int[] flat = savedInstanceState.getIntArray(KEY_BOARD);
-            int sc = savedInstanceState.getInt(KEY_SCORE, 0);
-            int mv = savedInstanceState.getInt(KEY_MOVES, 0);
-            gameManager.restoreFromFlattened(flat, sc, mv);
+            final int[] flat = savedInstanceState.getIntArray(KEY_BOARD);
+            final int sc = savedInstanceState.getInt(KEY_SCORE, 0);
+            final int mv = savedInstanceState.getInt(KEY_MOVES, 0);
+            engine.execute(gm -> gm.restoreFromFlattened(flat, sc, mv));
         } else {
-            // Intentar restaurar partida persistida
-            if (!restorePersistedGame()) {
-                gameManager.newGame();
-            }
+            // Restaurar la partida persistida sin bloquear el arranque
+            restorePersistedGame();
         }
-        updateScores();
-        if (btnUndo != null) btnUndo.setEnabled(gameManager.canUndo());
+        updateScores(engine.getState());
 
         if (btnRestart != null) {
             btnRestart.setOnClickListener(new android.view.View.OnClickListener() {
@@ -127,12 +147,10 @@ public class MainActivity extends AppCompatActivity {
                             .setPositiveButton("Sí", new android.content.DialogInterface.OnClickListener() {
                                 @Override
                                 public void onClick(android.content.DialogInterface dialog, int which) {
-                                    gameManager.newGame();
-                                    updateScores();
-                                    if (btnUndo != null) btnUndo.setEnabled(gameManager.canUndo());
-                                    if (gameView != null) gameView.invalidate();
+                                    awaitingRestore = false;
+                                    engine.newGame();
                                     // borrar estado guardado
-                                    getSharedPreferences("2048_prefs", MODE_PRIVATE).edit().remove("saved_game").apply();
+                                    snapshotStore.clearAsync();
                                 }
                             })
                             .setNegativeButton("No", null)
@@ -146,74 +164,132 @@ public class MainActivity extends AppCompatActivity {
                 @Override
                 public void onClick(android.view.View v) {
                     Log.d(TAG, "Click undo");
-                    if (gameManager.canUndo()) {
-                        gameManager.undo();
-                        updateScores();
-                        if (gameView != null) gameView.invalidate();
-                        btnUndo.setEnabled(gameManager.canUndo());
-                    }
+                    if (engine.getState().canUndo) engine.undo();
                 }
             });
         }
 
-        if (btnShowLast != null) {
-            btnShowLast.setOnClickListener(v -> {
-                try {
-                    String json = getSharedPreferences("2048_prefs", MODE_PRIVATE).getString("saved_game", null);
-                    if (json == null) {
-                        new AlertDialog.Builder(MainActivity.this).setMessage("No hay última partida guardada").setPositiveButton("OK", null).show();
-                        return;
-                    }
-                    JSONObject obj = new JSONObject(json);
-                    int score = obj.optInt("score", 0);
-                    int moves = obj.optInt("moves", 0);
-                    JSONArray arr = obj.optJSONArray("board");
-                    StringBuilder sb = new StringBuilder();
-                    sb.append("Score: ").append(score).append("\n");
-                    sb.append("Moves: ").append(moves).append("\n\n");
-                    if (arr != null) {
-                        for (int i = 0; i < arr.length(); i++) {
-                            sb.append(arr.optInt(i, 0));
-                            if ((i + 1) % 4 == 0) sb.append("\n"); else sb.append(" ");
-                        }
-                    }
-                    new AlertDialog.Builder(MainActivity.this).setTitle("Última partida").setMessage(sb.toString()).setPositiveButton("OK", null).show();
-                } catch (Exception e) {
-                    Log.e(TAG, "Error mostrando última partida", e);
-                    new AlertDialog.Builder(MainActivity.this).setMessage("Error leyendo última partida").setPositiveButton("OK", null).show();
-                }
+        if (btnRedo != null) {
+            btnRedo.setOnClickListener(v -> {
+                Log.d(TAG, "Click redo");
+                if (engine.getState().canRedo) engine.redo();
             });
         }
 
+        if (btnHint != null) {
+            btnHint.setOnClickListener(v -> requestHint());
+        }
+
+        if (btnShowLast != null) {
+            btnShowLast.setOnClickListener(v -> snapshotStore.loadAsync(ContextCompat.getMainExecutor(this), this::showLastGame));
+        }
+
         // Ya no mostramos el último crash automáticamente para evitar confusión.
     }
 
-    private void updateScoreViews(int score, boolean animated) {
-        if (tvScore != null) tvScore.setText(String.valueOf(score));
-        if (tvMoves != null) tvMoves.setText(String.valueOf(gameManager.getMoves()));
-        if (tvBest != null) tvBest.setText(String.valueOf(gameManager.getBestScore()));
-        // animated reservado por si quieres animaciones del marcador
+    private void showLastGame(GameSnapshot snap) {
+        if (isFinishing() || isDestroyed()) return;
+        try {
+            if (snap == null) {
+                new AlertDialog.Builder(MainActivity.this).setMessage("No hay última partida guardada").setPositiveButton("OK", null).show();
+                return;
+            }
+            int[] flat = new int[16];
+            BitBoard.toValues(snap.board, flat);
+            StringBuilder sb = new StringBuilder();
+            sb.append("Score: ").append(snap.score).append("\n");
+            sb.append("Moves: ").append(snap.moves).append("\n\n");
+            for (int i = 0; i < flat.length; i++) {
+                sb.append(flat[i]);
+                if ((i + 1) % 4 == 0) sb.append("\n"); else sb.append(" ");
+            }
+            new AlertDialog.Builder(MainActivity.this).setTitle("Última partida").setMessage(sb.toString()).setPositiveButton("OK", null).show();
+        } catch (Exception e) {
+            Log.e(TAG, "Error mostrando última partida", e);
+            new AlertDialog.Builder(MainActivity.this).setMessage("Error leyendo última partida").setPositiveButton("OK", null).show();
+        }
     }
 
-    // Compatibilidad: método original usado por GameManager callbacks
-    private void updateScoreViews(int score) {
-        updateScoreViews(score, false);
+    private void toggleFrameStats() {
+        if (gameView == null) return;
+        if (!gameView.isFrameStatsEnabled()) {
+            gameView.getFrameStats().reset();
+            gameView.setFrameStatsEnabled(true);
+            return;
+        }
+        gameView.setFrameStatsEnabled(false);
+        final String report = gameView.getFrameStats().format() + gameView.getTouchLatency().format("touch-to-move") + "\n";
+        File dir = getExternalFilesDir(null);
+        if (dir == null) dir = getFilesDir();
+        final File file = new File(dir, "frame-stats-" + System.currentTimeMillis() + ".txt");
+        new Thread(() -> {
+            try {
+                FrameStats.write(report, file);
+                Log.i(TAG, "Informe de frames guardado en " + file.getAbsolutePath());
+            } catch (IOException e) {
+                Log.e(TAG, "Error guardando informe de frames", e);
+            }
+        }, "frame-stats-dump").start();
+        Log.i(TAG, report);
+    }
+
+    private void requestHint() {
+        final GameState state = engine.getState();
+        hintActive = true;
+        hintBoard = state.board;
+        btnHint.setText(R.string.action_hint);
+        hintService.request(state.board, HINT_BUDGET_MILLIS, new HintService.Listener() {
+            @Override
+            public void onHint(long board, SearchResult result, boolean finished) {
+                // la petición pudo quedar obsoleta entre la publicación y este callback
+                if (!hintActive || board != hintBoard || result.bestMove == null) return;
+                btnHint.setText(getString(R.string.hint_result, arrowFor(result.bestMove), result.depth));
+            }
+        });
+    }
+
+    private void clearHint() {
+        if (!hintActive) return;
+        hintActive = false;
+        hintService.cancel();
+        if (btnHint != null) btnHint.setText(R.string.action_hint);
+    }
+
+    private static String arrowFor(Direction dir) {
+        switch (dir) {
+            case UP: return "↑";
+            case DOWN: return "↓";
+            case LEFT: return "←";
+            default: return "→";
+        }
     }
 
-    private void updateScores() {
-        if (tvScore != null) tvScore.setText(String.valueOf(gameManager.getScore()));
-        if (tvBest != null) tvBest.setText(String.valueOf(gameManager.getBestScore()));
-        if (tvMoves != null) tvMoves.setText(String.valueOf(gameManager.getMoves()));
-        if (btnUndo != null) btnUndo.setEnabled(gameManager.canUndo());
+    private void onGameState(GameState state) {
+        // mover, deshacer o reiniciar invalida la pista en curso
+        if (hintActive && state.board != hintBoard) clearHint();
+        updateScores(state);
+        if (state.hasEvent(GameState.EVENT_WIN)) onWin();
+        if (state.hasEvent(GameState.EVENT_GAME_OVER)) onGameOver(state.score);
+    }
+
+    private void updateScores(GameState state) {
+        if (tvScore != null) tvScore.setText(String.valueOf(state.score));
+        if (tvBest != null) tvBest.setText(String.valueOf(state.bestScore));
+        if (tvMoves != null) tvMoves.setText(String.valueOf(state.moves));
+        if (btnUndo != null) btnUndo.setEnabled(state.canUndo);
+        if (btnRedo != null) btnRedo.setEnabled(state.canRedo);
     }
 
     @Override
     protected void onSaveInstanceState(Bundle outState) {
         super.onSaveInstanceState(outState);
         try {
-            outState.putIntArray(KEY_BOARD, gameManager.getBoardFlattened());
-            outState.putInt(KEY_SCORE, gameManager.getScore());
-            outState.putInt(KEY_MOVES, gameManager.getMoves());
+            GameState state = engine.getState();
+            int[] flat = new int[16];
+            BitBoard.toValues(state.board, flat);
+            outState.putIntArray(KEY_BOARD, flat);
+            outState.putInt(KEY_SCORE, state.score);
+            outState.putInt(KEY_MOVES, state.moves);
         } catch (Exception e) {
             Log.e(TAG, "Error guardando estado de la partida", e);
         }
@@ -224,64 +300,60 @@ public class MainActivity extends AppCompatActivity {
         super.onPause();
         // Guardar Best y snapshot de la partida
         try {
-            scoreManager.saveBestScore(gameManager.getBestScore());
+            scoreManager.saveBestScore(engine.getState().bestScore);
             persistCurrentGame();
+            if (gameView != null) Log.i(TAG, gameView.getTouchLatency().format("touch-to-move"));
+            Log.i(TAG, "engine metrics\n" + metrics.snapshot().format());
         } catch (Exception e) {
             Log.e(TAG, "Error persistiendo partida", e);
         }
     }
 
+    // Escritura binaria en segundo plano (ver GameSnapshotStore)
     private void persistCurrentGame() {
+        // con la carga pendiente y la partida sin tocar, guardar pisaría la partida que se está cargando;
+        // si el jugador ya ha movido, la carga se descarta (restoreIfUntouched) y hay que guardar esta
+        GameState s = engine.getState();
+        if (awaitingRestore && s.moves == 0 && !s.canUndo) return;
         try {
-            JSONObject obj = new JSONObject();
-            obj.put("score", gameManager.getScore());
-            obj.put("moves", gameManager.getMoves());
-            obj.put("best", gameManager.getBestScore());
-            int[] flat = gameManager.getBoardFlattened();
-            JSONArray arr = new JSONArray();
-            for (int v : flat) arr.put(v);
-            obj.put("board", arr);
-            SharedPreferences prefs = getSharedPreferences("2048_prefs", MODE_PRIVATE);
-            prefs.edit().putString("saved_game", obj.toString()).apply();
+            snapshotStore.saveAsync(GameSnapshot.of(engine.getState()));
         } catch (Exception e) {
             Log.e(TAG, "persistCurrentGame error", e);
         }
     }
 
-    private boolean restorePersistedGame() {
-        try {
-            SharedPreferences prefs = getSharedPreferences("2048_prefs", MODE_PRIVATE);
-            String json = prefs.getString("saved_game", null);
-            if (json == null) return false;
-            JSONObject obj = new JSONObject(json);
-            int score = obj.optInt("score", 0);
-            int moves = obj.optInt("moves", 0);
-            JSONArray arr = obj.optJSONArray("board");
-            if (arr == null || arr.length() != 16) return false;
-            int[] flat = new int[16];
-            for (int i = 0; i < 16; i++) flat[i] = arr.optInt(i, 0);
-            gameManager.restoreFromFlattened(flat, score, moves);
-            return true;
-        } catch (Exception e) {
-            Log.e(TAG, "restorePersistedGame error", e);
-            return false;
-        }
+    /**
+     * La lectura va en el hilo de IO del store y el resultado llega al hilo principal. Mientras
+     * tanto se puede jugar la partida nueva que ya tiene el motor: si el jugador mueve antes de
+     * que llegue, la guardada se descarta en vez de pisar sus movimientos.
+     */
+    private void restorePersistedGame() {
+        awaitingRestore = true;
+        snapshotStore.loadAsync(ContextCompat.getMainExecutor(this), snap -> {
+            // reiniciada o destruida mientras tanto: la partida guardada ya no aplica
+            if (!awaitingRestore || isDestroyed()) return;
+            awaitingRestore = false;
+            if (snap != null) engine.restoreIfUntouched(snap.board, snap.score, snap.moves);
+        });
     }
 
     @Override
     protected void onDestroy() {
         super.onDestroy();
         try {
-            scoreManager.saveBestScore(gameManager.getBestScore());
+            scoreManager.saveBestScore(engine.getState().bestScore);
         } catch (Exception e) {
             Log.e(TAG, "Error guardando puntaje máximo", e);
         }
+        if (gameView != null) gameView.setEngine(null);
+        if (engine != null) engine.shutdown();
+        if (hintService != null) hintService.shutdown();
     }
 
-    private void onGameOver() {
+    private void onGameOver(int score) {
         new AlertDialog.Builder(this)
                 .setTitle("Juego terminado")
-                .setMessage("¡Fin del juego! Tu puntaje: " + gameManager.getScore())
+                .setMessage("¡Fin del juego! Tu puntaje: " + score)
                 .setPositiveButton("OK", null)
                 .show();
     }
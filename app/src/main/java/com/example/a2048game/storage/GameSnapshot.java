@@ -0,0 +1,71 @@
+package com.example.a2048game.storage;
+
+import com.example.a2048game.logic.GameState;
+import com.example.a2048game.model.BitBoard;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Instantánea inmutable de una partida y su formato binario (big-endian, 32 bytes):
+ *   magic "G48S" (4), versión (2), flags (2), tablero empaquetado (8),
+ *   score (4), moves (4), best (4), CRC32 de los 28 bytes anteriores (4)
+ */
+public final class GameSnapshot {
+
+    static final int MAGIC = ('G' << 24) | ('4' << 16) | ('8' << 8) | 'S';
+    static final short VERSION = 1;
+    public static final int SIZE = 32;
+
+    public final long board;
+    public final int score;
+    public final int moves;
+    public final int best;
+
+    public GameSnapshot(long board, int score, int moves, int best) {
+        this.board = board;
+        this.score = score;
+        this.moves = moves;
+        this.best = best;
+    }
+
+    public static GameSnapshot of(GameState state) {
+        return new GameSnapshot(state.board, state.score, state.moves, state.bestScore);
+    }
+
+    // Partida guardada por versiones anteriores (valores reales fila a fila); null si no es válida
+    public static GameSnapshot fromLegacy(int[] flat, int score, int moves, int best) {
+        if (flat == null || flat.length != 16 || score < 0 || moves < 0) return null;
+        try {
+            return new GameSnapshot(BitBoard.fromValues(flat), score, moves, Math.max(best, score));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public byte[] encode() {
+        ByteBuffer buf = ByteBuffer.allocate(SIZE);
+        buf.putInt(MAGIC);
+        buf.putShort(VERSION);
+        buf.putShort((short) 0);
+        buf.putLong(board);
+        buf.putInt(score);
+        buf.putInt(moves);
+        buf.putInt(best);
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, SIZE - 4);
+        buf.putInt((int) crc.getValue());
+        return buf.array();
+    }
+
+    // Devuelve null si los datos no son una instantánea válida
+    public static GameSnapshot decode(byte[] data, int length) {
+        if (data == null || length != SIZE) return null;
+        ByteBuffer buf = ByteBuffer.wrap(data, 0, length);
+        if (buf.getInt(0) != MAGIC || buf.getShort(4) != VERSION) return null;
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, SIZE - 4);
+        if (buf.getInt(SIZE - 4) != (int) crc.getValue()) return null;
+        return new GameSnapshot(buf.getLong(8), buf.getInt(16), buf.getInt(20), buf.getInt(24));
+    }
+}
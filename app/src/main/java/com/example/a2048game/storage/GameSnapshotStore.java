@@ -0,0 +1,153 @@
+package com.example.a2048game.storage;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.a2048game.metrics.EngineMetrics;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Guarda la partida en curso como GameSnapshot binario en un fichero privado.
+ * La escritura se hace en un hilo de fondo: fichero temporal + fsync + rename atómico,
+ * así un fallo a mitad nunca deja un fichero a medias. Si se encolan varias escrituras
+ * seguidas solo se escribe la última. La lectura también va en ese hilo (loadAsync), y antes
+ * que nada se migra una sola vez la partida en JSON que guardaban las versiones anteriores.
+ */
+public class GameSnapshotStore {
+
+    private static final String TAG = "GameSnapshotStore";
+    private static final String FILE_NAME = "game.snap";
+    private static final String LEGACY_PREFS = "2048_prefs";
+    private static final String LEGACY_KEY = "saved_game";
+
+    public interface LoadCallback {
+        // snapshot es null si no hay partida guardada válida
+        void onLoaded(GameSnapshot snapshot);
+    }
+
+    // Compartido entre instancias para que las escrituras pendientes sobrevivan a la Activity
+    private static final ExecutorService IO = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "snapshot-io");
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    // marcador para borrar el fichero en lugar de escribirlo
+    private static final GameSnapshot DELETE = new GameSnapshot(0L, 0, 0, 0);
+
+    private final File file;
+    private final File tmpFile;
+    private final SharedPreferences legacyPrefs;
+    private final AtomicReference<GameSnapshot> pending = new AtomicReference<>();
+    private volatile EngineMetrics metrics;
+
+    public GameSnapshotStore(Context ctx) {
+        file = new File(ctx.getFilesDir(), FILE_NAME);
+        tmpFile = new File(ctx.getFilesDir(), FILE_NAME + ".tmp");
+        legacyPrefs = ctx.getSharedPreferences(LEGACY_PREFS, Context.MODE_PRIVATE);
+        // primera tarea de la cola: cualquier lectura o escritura posterior ya ve la partida migrada
+        IO.execute(this::migrateLegacy);
+    }
+
+    // Tiempo de cada escritura completa (temporal + fsync + rename)
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void saveAsync(GameSnapshot snapshot) {
+        if (pending.getAndSet(snapshot) == null) IO.execute(this::flush);
+    }
+
+    public void clearAsync() {
+        if (pending.getAndSet(DELETE) == null) IO.execute(this::flush);
+    }
+
+    private void flush() {
+        GameSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null) return;
+        if (snapshot == DELETE) {
+            if (file.exists() && !file.delete()) Log.w(TAG, "No se pudo borrar " + file);
+            return;
+        }
+        long start = System.nanoTime();
+        if (!write(snapshot)) return;
+        EngineMetrics m = metrics;
+        if (m != null) m.record(EngineMetrics.Op.PERSIST, System.nanoTime() - start);
+    }
+
+    private boolean write(GameSnapshot snapshot) {
+        try (FileOutputStream fos = new FileOutputStream(tmpFile)) {
+            fos.write(snapshot.encode());
+            fos.getFD().sync();
+        } catch (IOException e) {
+            Log.e(TAG, "Error escribiendo instantánea", e);
+            return false;
+        }
+        if (!tmpFile.renameTo(file)) {
+            Log.e(TAG, "Error renombrando " + tmpFile + " a " + file);
+            return false;
+        }
+        return true;
+    }
+
+    // Pasa la partida en JSON de SharedPreferences a instantánea y borra la clave (solo en IO)
+    private void migrateLegacy() {
+        String json = legacyPrefs.getString(LEGACY_KEY, null);
+        if (json == null) return;
+        // una instantánea ya existente es más reciente que el JSON
+        if (!file.exists()) {
+            GameSnapshot snapshot = null;
+            try {
+                JSONObject obj = new JSONObject(json);
+                JSONArray arr = obj.optJSONArray("board");
+                if (arr != null && arr.length() == 16) {
+                    int[] flat = new int[16];
+                    for (int i = 0; i < 16; i++) flat[i] = arr.optInt(i, 0);
+                    snapshot = GameSnapshot.fromLegacy(flat, obj.optInt("score", 0), obj.optInt("moves", 0), obj.optInt("best", 0));
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Partida antigua no válida", e);
+            }
+            // si no se pudo escribir, se deja la clave para reintentarlo en el siguiente arranque
+            if (snapshot != null && !write(snapshot)) return;
+        }
+        legacyPrefs.edit().remove(LEGACY_KEY).commit();
+    }
+
+    // Lee la instantánea en el hilo de IO y entrega el resultado en callbackExecutor
+    public void loadAsync(final Executor callbackExecutor, final LoadCallback callback) {
+        IO.execute(() -> {
+            final GameSnapshot snapshot = load();
+            callbackExecutor.execute(() -> callback.onLoaded(snapshot));
+        });
+    }
+
+    // Lectura directa de 32 bytes, bloqueante (en la UI, usar loadAsync); null si no hay instantánea válida
+    public GameSnapshot load() {
+        GameSnapshot queued = pending.get();
+        if (queued != null) return queued == DELETE ? null : queued;
+        if (!file.exists()) return null;
+        byte[] data = new byte[GameSnapshot.SIZE + 1];
+        try (FileInputStream fis = new FileInputStream(file)) {
+            int total = 0;
+            int n;
+            while (total < data.length && (n = fis.read(data, total, data.length - total)) > 0) total += n;
+            return GameSnapshot.decode(data, total);
+        } catch (IOException e) {
+            Log.e(TAG, "Error leyendo instantánea", e);
+            return null;
+        }
+    }
+}
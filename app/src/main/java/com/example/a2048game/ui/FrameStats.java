@@ -0,0 +1,163 @@
+package com.example.a2048game.ui;
+
+import android.os.Build;
+import android.os.Debug;
+import android.view.Choreographer;
+
+import com.example.a2048game.metrics.LatencyHistogram;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+/**
+ * Instrumentación de render para depurar: tiempo de onDraw, intervalo entre frames (medido con
+ * un FrameCallback continuo mientras está activa), frames perdidos y objetos reservados por
+ * onDraw. Los histogramas no usan bloqueos; el resto solo se toca desde el hilo de UI.
+ * Desactivada no cuesta nada: GameView solo llama a beginDraw/endDraw si isRunning().
+ */
+public final class FrameStats implements Choreographer.FrameCallback {
+
+    private static final long DEFAULT_FRAME_NANOS = 16_666_667L;
+
+    private final LatencyHistogram drawTime = new LatencyHistogram();
+    private final LatencyHistogram frameInterval = new LatencyHistogram();
+    private long frameNanos = DEFAULT_FRAME_NANOS;
+    private long lastFrameTime = 0;
+    private long frames = 0;
+    private long droppedFrames = 0;
+    private long draws = 0;
+    private long allocations = 0;
+    private int maxAllocations = 0;
+    private int allocStart;
+    private boolean running = false;
+
+    void setRefreshRate(float hz) {
+        if (hz > 1f) frameNanos = (long) (1e9 / hz);
+    }
+
+    @SuppressWarnings("deprecation")
+    void start() {
+        if (running) return;
+        running = true;
+        lastFrameTime = 0;
+        // cuenta aproximada de reservas por hilo; suficiente para ver si onDraw reserva
+        Debug.startAllocCounting();
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @SuppressWarnings("deprecation")
+    void stop() {
+        if (!running) return;
+        running = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+        Debug.stopAllocCounting();
+    }
+
+    boolean isRunning() { return running; }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) return;
+        if (lastFrameTime != 0) {
+            long interval = frameTimeNanos - lastFrameTime;
+            frameInterval.record(interval);
+            // un intervalo de ~N periodos de refresco son N - 1 frames perdidos
+            long missed = (interval + frameNanos / 2) / frameNanos - 1;
+            if (missed > 0) droppedFrames += missed;
+        }
+        lastFrameTime = frameTimeNanos;
+        frames++;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @SuppressWarnings("deprecation")
+    long beginDraw() {
+        allocStart = Debug.getThreadAllocCount();
+        return System.nanoTime();
+    }
+
+    @SuppressWarnings("deprecation")
+    void endDraw(long startNanos) {
+        drawTime.record(System.nanoTime() - startNanos);
+        int allocs = Debug.getThreadAllocCount() - allocStart;
+        draws++;
+        allocations += allocs;
+        if (allocs > maxAllocations) maxAllocations = allocs;
+    }
+
+    public void reset() {
+        drawTime.reset();
+        frameInterval.reset();
+        lastFrameTime = 0;
+        frames = 0;
+        droppedFrames = 0;
+        draws = 0;
+        allocations = 0;
+        maxAllocations = 0;
+    }
+
+    public LatencyHistogram getDrawTime() { return drawTime; }
+
+    public LatencyHistogram getFrameInterval() { return frameInterval; }
+
+    public long getDroppedFrames() { return droppedFrames; }
+
+    // Líneas cortas para el overlay; se escriben en un StringBuilder reutilizado
+    static final int OVERLAY_LINES = 3;
+
+    void overlayLine(int line, StringBuilder sb) {
+        sb.setLength(0);
+        switch (line) {
+            case 0:
+                sb.append("draw p50 ");
+                appendMillis(sb, drawTime.getValueAtPercentile(50));
+                sb.append(" p99 ");
+                appendMillis(sb, drawTime.getValueAtPercentile(99));
+                sb.append(" max ");
+                appendMillis(sb, drawTime.getMax());
+                break;
+            case 1:
+                sb.append("frame p50 ");
+                appendMillis(sb, frameInterval.getValueAtPercentile(50));
+                sb.append(" p99 ");
+                appendMillis(sb, frameInterval.getValueAtPercentile(99));
+                sb.append(" drop ").append(droppedFrames).append('/').append(frames);
+                break;
+            default:
+                sb.append("alloc/draw ").append(draws == 0 ? 0 : allocations / draws);
+                sb.append(" max ").append(maxAllocations);
+                break;
+        }
+    }
+
+    // ms con un decimal sin pasar por String.format (el overlay se dibuja en cada frame)
+    private static void appendMillis(StringBuilder sb, long nanos) {
+        long tenths = (nanos + 50_000) / 100_000;
+        sb.append(tenths / 10).append('.').append(tenths % 10).append("ms");
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "device=%s %s sdk=%d refresh=%.1fHz%n",
+                Build.MANUFACTURER, Build.MODEL, Build.VERSION.SDK_INT, 1e9 / frameNanos));
+        sb.append(drawTime.format("draw")).append('\n');
+        sb.append(frameInterval.format("frame-interval")).append('\n');
+        sb.append(String.format(Locale.ROOT, "frames=%d dropped=%d (%.2f%%)%n",
+                frames, droppedFrames, frames == 0 ? 0 : droppedFrames * 100.0 / (frames + droppedFrames)));
+        sb.append(String.format(Locale.ROOT, "draws=%d allocations=%d per-draw=%.1f max=%d%n",
+                draws, allocations, draws == 0 ? 0 : (double) allocations / draws, maxAllocations));
+        return sb.toString();
+    }
+
+    // format() se llama en el hilo de UI; la escritura puede ir a cualquier hilo
+    public static void write(String report, File file) throws IOException {
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8"))) {
+            out.write(report);
+        }
+    }
+}
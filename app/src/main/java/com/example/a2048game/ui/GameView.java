@@ -1,37 +1,63 @@
 package com.example.a2048game.ui;
 
-import android.animation.ValueAnimator;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.RectF;
+import android.os.SystemClock;
 import android.util.AttributeSet;
 import android.util.Log;
-import android.util.TypedValue;
-import android.view.GestureDetector;
+import android.util.LruCache;
+import android.view.Choreographer;
 import android.view.MotionEvent;
 import android.view.View;
 
 import androidx.annotation.Nullable;
 
+import java.util.concurrent.TimeUnit;
+
 import com.example.a2048game.logic.Direction;
-import com.example.a2048game.logic.GameManager;
+import com.example.a2048game.logic.AsyncGameEngine;
+import com.example.a2048game.logic.GameState;
+import com.example.a2048game.metrics.LatencyHistogram;
+import com.example.a2048game.model.BitBoard;
 import com.example.a2048game.model.Board;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public class GameView extends View {
 
     private static final String TAG = "GameView";
-    private GameManager gameManager;
-    private Paint bgPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-    private Paint cellPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-    private Paint tilePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-    private Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    // Solo se dibuja el último estado publicado por el motor; nunca se toca el GameManager
+    private AsyncGameEngine engine;
+    private GameState state;
+    private Paint bitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
     private Paint highlightPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-    private GestureDetector gestureDetector;
+
+    // Instrumentación de render (depuración); el overlay se dibuja encima del tablero
+    private final FrameStats frameStats = new FrameStats();
+    private final Paint overlayPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint overlayBackground = new Paint();
+    private final StringBuilder overlayText = new StringBuilder(64);
+
+    // Atlas de fichas por tamaño de tablero, compartido entre instancias (p. ej. al rotar).
+    // Un atlas son ~8 MB en un móvil y más de 16 MB en tablet o a 1440p: con un presupuesto fijo
+    // LruCache lo desalojaba nada más guardarlo. 1/8 del heap da para varios tamaños
+    private static final int ATLAS_CACHE_BYTES = (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 8);
+    private static final LruCache<Integer, TileAtlas> ATLAS_CACHE = new LruCache<Integer, TileAtlas>(ATLAS_CACHE_BYTES) {
+        @Override
+        protected int sizeOf(Integer key, TileAtlas value) {
+            return value.byteCount();
+        }
+    };
+    private TileAtlas atlas;
+    private final RectF highlightRect = new RectF();
+    private SwipeRecognizer swipe;
+    // Desde el ACTION_DOWN hasta que el movimiento se aplica
+    private final LatencyHistogram touchLatency = new LatencyHistogram();
+    // Id del movimiento enviado al motor cuyo estado aún no ha llegado (uno en vuelo como mucho; 0 ninguno).
+    // Los estados de otros comandos (deshacer, restaurar...) no lo liberan
+    private long awaitingCommand = 0;
+    private long awaitingDownTime;
 
     // Drag state
     private boolean dragging = false;
@@ -41,7 +67,9 @@ public class GameView extends View {
     private float dragX;
     private float dragY;
 
-    // Grid metrics cached
+    // Grid metrics cached; se recalculan solo cuando cambia el tamaño de la vista
+    private int metricsWidth = -1;
+    private int metricsHeight = -1;
     private int gridLeft;
     private int gridTop;
     private int cellSize;
@@ -49,10 +77,38 @@ public class GameView extends View {
     private int padding;
     private int gap;
 
-    // Animation helpers
-    private int[][] prevBoard = null;
-    private float[][] scaleFactors = null;
-    private Map<Integer, ValueAnimator> animators = new HashMap<>();
+    // Animaciones: un solo reloj (Choreographer) avanza todas las fichas e invalida una vez por frame
+    private final TileAnimations animations = new TileAnimations();
+    private boolean framePending = false;
+    private final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            framePending = false;
+            animations.advance(frameTimeNanos);
+            applyQueuedMove();
+            if (animations.isActive() || !inputQueue.isEmpty()) scheduleFrame();
+            invalidate();
+        }
+    };
+    // Los gestos se encolan y se aplican al inicio de un frame, nunca a mitad de un desplazamiento
+    private MoveInputQueue inputQueue = new MoveInputQueue(MoveInputQueue.DEFAULT_DEPTH);
+    private final AsyncGameEngine.StateListener stateListener = new AsyncGameEngine.StateListener() {
+        @Override
+        public void onState(GameState s) {
+            state = s;
+            if (awaitingCommand != 0 && s.command == awaitingCommand) {
+                // el downTime del MotionEvent es SystemClock.uptimeMillis, que se para en suspensión
+                // y System.nanoTime no: hay que restar en el mismo reloj
+                if (s.lastMove != null) {
+                    touchLatency.record(TimeUnit.MILLISECONDS.toNanos(SystemClock.uptimeMillis() - awaitingDownTime));
+                }
+                awaitingCommand = 0;
+            }
+            if (s.lastMove != null) animations.startMove(s.lastMove, System.nanoTime());
+            if (animations.isActive() || !inputQueue.isEmpty()) scheduleFrame();
+            invalidate();
+        }
+    };
 
     public GameView(Context context) {
         super(context);
@@ -75,39 +131,55 @@ public class GameView extends View {
     }
 
     private void init(Context context) {
-        bgPaint.setColor(Color.parseColor("#bbada0"));
-        cellPaint.setColor(Color.parseColor("#cdc1b4"));
-        tilePaint.setColor(Color.LTGRAY);
-        textPaint.setColor(Color.BLACK);
-        textPaint.setTextAlign(Paint.Align.CENTER);
-        textPaint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, 24, getResources().getDisplayMetrics()));
         highlightPaint.setColor(Color.parseColor("#80ffffff"));
+        overlayPaint.setColor(Color.WHITE);
+        overlayPaint.setTextSize(12f * context.getResources().getDisplayMetrics().scaledDensity);
+        overlayBackground.setColor(Color.parseColor("#b0000000"));
 
-        gestureDetector = new GestureDetector(context, new GestureDetector.SimpleOnGestureListener() {
-            private static final int SWIPE_MIN_DISTANCE = 100;
-            private static final int SWIPE_THRESHOLD_VELOCITY = 100;
-            @Override
-            public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-                if (gameManager == null) return false;
-                float dx = e2.getX() - e1.getX();
-                float dy = e2.getY() - e1.getY();
-                if (Math.abs(dx) > Math.abs(dy)) {
-                    if (Math.abs(dx) > SWIPE_MIN_DISTANCE && Math.abs(velocityX) > SWIPE_THRESHOLD_VELOCITY) {
-                        doMove(dx > 0 ? Direction.RIGHT : Direction.LEFT);
-                        return true;
-                    }
-                } else if (Math.abs(dy) > SWIPE_MIN_DISTANCE && Math.abs(velocityY) > SWIPE_THRESHOLD_VELOCITY) {
-                    doMove(dy > 0 ? Direction.DOWN : Direction.UP);
-                    return true;
-                }
-                return false;
-            }
-        });
+        swipe = new SwipeRecognizer(context.getResources().getDisplayMetrics().density);
+    }
+
+    // Umbrales del gesto en dp (y dp/s para la velocidad); ver SwipeRecognizer
+    public void setSwipeThresholds(float distanceDp, float flingDistanceDp, float velocityDpPerSecond) {
+        swipe.setThresholds(distanceDp, flingDistanceDp, velocityDpPerSecond);
+    }
+
+    // Movimientos que se pueden adelantar mientras se anima el anterior; el resto se descarta
+    public void setInputQueueDepth(int depth) {
+        if (depth == inputQueue.depth()) return;
+        inputQueue = new MoveInputQueue(depth);
+    }
+
+    // Activa la medición de frames y el overlay; mientras está activo la vista se redibuja en cada vsync
+    public void setFrameStatsEnabled(boolean enabled) {
+        if (enabled) {
+            if (getDisplay() != null) frameStats.setRefreshRate(getDisplay().getRefreshRate());
+            frameStats.start();
+        } else {
+            frameStats.stop();
+        }
+        invalidate();
+    }
+
+    public boolean isFrameStatsEnabled() {
+        return frameStats.isRunning();
+    }
+
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+
+    public LatencyHistogram getTouchLatency() {
+        return touchLatency;
     }
 
     private void computeGridMetrics() {
         int w = getWidth();
         int h = getHeight();
+        if (w == metricsWidth && h == metricsHeight) return;
+        metricsWidth = w;
+        metricsHeight = h;
+        atlas = null;
         if (w <= 0 || h <= 0) {
             gridLeft = gridTop = 0;
             cellSize = 0;
@@ -129,163 +201,164 @@ public class GameView extends View {
         gridSize = cellSize * Board.SIZE + gap * (Board.SIZE + 1);
         gridLeft = (w - gridSize) / 2;
         gridTop = (h - gridSize) / 2;
+        atlas = ATLAS_CACHE.get(size);
+        if (atlas == null) {
+            atlas = new TileAtlas(cellSize, gap, padding, gridSize);
+            ATLAS_CACHE.put(size, atlas);
+        }
     }
 
-    private void doMove(Direction dir) {
-        if (gameManager == null) return;
-        boolean moved = false;
-        try {
-            moved = gameManager.move(dir);
-        } catch (Exception e) {
-            Log.e(TAG, "Error ejecutando movimiento", e);
+    private void queueMove(Direction dir, long downTimeMillis) {
+        inputQueue.offer(dir, downTimeMillis);
+        scheduleFrame();
+    }
+
+    private void applyQueuedMove() {
+        if (inputQueue.isEmpty() || awaitingCommand != 0) return;
+        if (animations.isSliding()) {
+            // con un movimiento esperando se acelera el desplazamiento; con la cola llena se termina ya
+            if (inputQueue.size() < inputQueue.depth()) {
+                animations.setSpeed(1f + 2f * inputQueue.size());
+                return;
+            }
+            animations.finish();
         }
-        if (moved) invalidate();
+        long downTime = inputQueue.peekDownTime();
+        doMove(inputQueue.poll(), downTime);
     }
 
-    public void setGameManager(GameManager gm) {
-        this.gameManager = gm;
-        // init prevBoard and scaleFactors sizes
-        prevBoard = new int[Board.SIZE][Board.SIZE];
-        scaleFactors = new float[Board.SIZE][Board.SIZE];
-        for (int r = 0; r < Board.SIZE; r++) for (int c = 0; c < Board.SIZE; c++) scaleFactors[r][c] = 1f;
+    private void doMove(Direction dir, long downTimeMillis) {
+        if (engine == null) return;
+        awaitingDownTime = downTimeMillis;
+        long id = engine.move(dir);
+        // con un motor síncrono onState ya ha recibido su estado dentro de move()
+        if (state == null || state.command != id) awaitingCommand = id;
+    }
+
+    private void scheduleFrame() {
+        if (framePending) return;
+        framePending = true;
+        Choreographer.getInstance().postFrameCallback(frameCallback);
+    }
+
+    public void setEngine(AsyncGameEngine e) {
+        if (engine != null) engine.removeStateListener(stateListener);
+        inputQueue.clear();
+        awaitingCommand = 0;
+        this.engine = e;
+        state = e != null ? e.getState() : null;
+        if (e != null) e.addStateListener(stateListener);
+        animations.cancel();
         invalidate();
     }
 
+    private int cellX(int c) {
+        return gridLeft + gap + c * (cellSize + gap);
+    }
+
+    private int cellY(int r) {
+        return gridTop + gap + r * (cellSize + gap);
+    }
+
     @Override
     protected void onDraw(Canvas canvas) {
+        if (!frameStats.isRunning()) {
+            drawBoard(canvas);
+            return;
+        }
+        long start = frameStats.beginDraw();
+        drawBoard(canvas);
+        frameStats.endDraw(start);
+        drawOverlay(canvas);
+        postInvalidateOnAnimation();
+    }
+
+    private void drawOverlay(Canvas canvas) {
+        float lineHeight = overlayPaint.getTextSize() * 1.25f;
+        float width = 0;
+        for (int i = 0; i < FrameStats.OVERLAY_LINES; i++) {
+            frameStats.overlayLine(i, overlayText);
+            width = Math.max(width, overlayPaint.measureText(overlayText, 0, overlayText.length()));
+        }
+        float pad = lineHeight / 4;
+        canvas.drawRect(0, 0, width + pad * 2, lineHeight * FrameStats.OVERLAY_LINES + pad * 2, overlayBackground);
+        for (int i = 0; i < FrameStats.OVERLAY_LINES; i++) {
+            frameStats.overlayLine(i, overlayText);
+            canvas.drawText(overlayText, 0, overlayText.length(), pad, pad + lineHeight * (i + 1) - lineHeight * 0.25f, overlayPaint);
+        }
+    }
+
+    private void drawBoard(Canvas canvas) {
         try {
             super.onDraw(canvas);
             computeGridMetrics();
-            if (cellSize <= 0) {
+            if (cellSize <= 0 || atlas == null) {
                 Log.w(TAG, "cellSize inválido, omitiendo draw hasta próximo layout");
                 return;
             }
-            RectF outer = new RectF(gridLeft, gridTop, gridLeft + gridSize, gridTop + gridSize);
-            canvas.drawRoundRect(outer, padding, padding, bgPaint);
-            if (gameManager == null) return;
-            Board b = gameManager.getBoard();
-            float textSize = cellSize * 0.42f;
-            textPaint.setTextSize(textSize);
-            Paint.FontMetrics fm = textPaint.getFontMetrics();
-            float textOffset = (fm.descent + fm.ascent) / 2f;
+            canvas.drawBitmap(atlas.background, gridLeft, gridTop, bitmapPaint);
+            if (state == null) return;
+            long packed = state.board;
             float corner = cellSize * 0.12f;
+            // si el tablero cambió por otra vía (deshacer, reiniciar...) la animación ya no vale
+            if (animations.isActive() && animations.getTargetBoard() != packed) animations.cancel();
 
-            // Compare board and start animations for cells that increased
-            for (int r = 0; r < Board.SIZE; r++) {
-                for (int c = 0; c < Board.SIZE; c++) {
-                    int curr = b.getValue(r, c);
-                    int prev = prevBoard != null ? prevBoard[r][c] : 0;
-                    if (curr > prev) {
-                        // start pop animation for this cell
-                        final int rr = r;
-                        final int cc = c;
-                        final int key = rr * 10 + cc;
-                        if (!animators.containsKey(key)) {
-                            scaleFactors[rr][cc] = 1.4f; // initial pop scale
-                            ValueAnimator va = ValueAnimator.ofFloat(1.4f, 1f);
-                            va.setDuration(180);
-                            va.addUpdateListener(animation -> {
-                                float v = (float) animation.getAnimatedValue();
-                                scaleFactors[rr][cc] = v;
-                                invalidate();
-                            });
-                            va.start();
-                            animators.put(key, va);
-                            // remove when finished
-                            va.addListener(new android.animation.AnimatorListenerAdapter() {
-                                @Override
-                                public void onAnimationEnd(android.animation.Animator animation) {
-                                    animators.remove(key);
-                                    scaleFactors[rr][cc] = 1f;
-                                }
-                            });
-                        }
-                    }
+            if (animations.isSliding()) {
+                float t = animations.slideProgress();
+                for (int i = 0; i < animations.slideCount(); i++) {
+                    int from = animations.slideFrom(i);
+                    int to = animations.slideTo(i);
+                    float x = cellX(from & 3) + (cellX(to & 3) - cellX(from & 3)) * t;
+                    float y = cellY(from >> 2) + (cellY(to >> 2) - cellY(from >> 2)) * t;
+                    canvas.drawBitmap(atlas.tile(animations.slideExponent(i)), x, y, bitmapPaint);
                 }
-            }
-
-            for (int r = 0; r < Board.SIZE; r++) {
-                for (int c = 0; c < Board.SIZE; c++) {
-                    int x = gridLeft + gap + c * (cellSize + gap);
-                    int y = gridTop + gap + r * (cellSize + gap);
-                    int value = b.getValue(r, c);
-                    RectF cellRect = new RectF(x, y, x + cellSize, y + cellSize);
-                    canvas.drawRoundRect(cellRect, corner, corner, cellPaint);
-                    if (dragging && r == dragFromRow && c == dragFromCol) {
-                        canvas.drawRoundRect(cellRect, corner, corner, highlightPaint);
-                        continue;
-                    }
-                    if (value != 0) {
-                        tilePaint.setColor(getColorForValue(value));
-                        // apply scale if active
-                        float scale = (scaleFactors != null) ? scaleFactors[r][c] : 1f;
+            } else {
+                for (int r = 0; r < Board.SIZE; r++) {
+                    for (int c = 0; c < Board.SIZE; c++) {
+                        int x = cellX(c);
+                        int y = cellY(r);
+                        if (dragging && r == dragFromRow && c == dragFromCol) {
+                            highlightRect.set(x, y, x + cellSize, y + cellSize);
+                            canvas.drawRoundRect(highlightRect, corner, corner, highlightPaint);
+                            continue;
+                        }
+                        int exp = BitBoard.getExponent(packed, r, c);
+                        if (exp == 0) continue;
+                        float scale = animations.scale(r * Board.SIZE + c);
                         if (scale != 1f) {
                             int save = canvas.save();
-                            canvas.scale(scale, scale, cellRect.centerX(), cellRect.centerY());
-                            canvas.drawRoundRect(cellRect, corner, corner, tilePaint);
-                            textPaint.setColor(getTextColorForValue(value));
-                            canvas.drawText(String.valueOf(value), cellRect.centerX(), cellRect.centerY() - textOffset, textPaint);
+                            canvas.scale(scale, scale, x + cellSize / 2f, y + cellSize / 2f);
+                            canvas.drawBitmap(atlas.tile(exp), x, y, bitmapPaint);
                             canvas.restoreToCount(save);
                         } else {
-                            canvas.drawRoundRect(cellRect, corner, corner, tilePaint);
-                            textPaint.setColor(getTextColorForValue(value));
-                            canvas.drawText(String.valueOf(value), cellRect.centerX(), cellRect.centerY() - textOffset, textPaint);
+                            canvas.drawBitmap(atlas.tile(exp), x, y, bitmapPaint);
                         }
                     }
                 }
             }
             if (dragging && dragValue != 0) {
-                RectF dragRect = new RectF(dragX - cellSize / 2f, dragY - cellSize / 2f, dragX + cellSize / 2f, dragY + cellSize / 2f);
-                tilePaint.setColor(getColorForValue(dragValue));
-                canvas.drawRoundRect(dragRect, corner, corner, tilePaint);
-                textPaint.setColor(getTextColorForValue(dragValue));
-                canvas.drawText(String.valueOf(dragValue), dragRect.centerX(), dragRect.centerY() - textOffset, textPaint);
+                canvas.drawBitmap(atlas.tile(BitBoard.toExponent(dragValue)), dragX - cellSize / 2f, dragY - cellSize / 2f, bitmapPaint);
             }
-
-            // copy current board into prevBoard
-            if (prevBoard == null) prevBoard = new int[Board.SIZE][Board.SIZE];
-            for (int r = 0; r < Board.SIZE; r++) for (int c = 0; c < Board.SIZE; c++) prevBoard[r][c] = b.getValue(r, c);
-
         } catch (Exception e) {
             Log.e(TAG, "Error en onDraw", e);
         }
     }
 
-    private int getColorForValue(int v) {
-        switch (v) {
-            case 2: return Color.parseColor("#eee4da");
-            case 4: return Color.parseColor("#ede0c8");
-            case 8: return Color.parseColor("#f2b179");
-            case 16: return Color.parseColor("#f59563");
-            case 32: return Color.parseColor("#f67c5f");
-            case 64: return Color.parseColor("#f65e3b");
-            case 128: return Color.parseColor("#edcf72");
-            case 256: return Color.parseColor("#edcc61");
-            case 512: return Color.parseColor("#edc850");
-            case 1024: return Color.parseColor("#edc53f");
-            case 2048: return Color.parseColor("#edc22e");
-            default: return Color.parseColor("#d6d6d6");
-        }
-    }
-
-    private int getTextColorForValue(int v) {
-        return (v == 2 || v == 4) ? Color.parseColor("#776e65") : Color.parseColor("#f9f6f2");
-    }
-
     @Override
     public boolean onTouchEvent(MotionEvent event) {
-        if (gameManager == null) return false;
+        if (state == null) return false;
         computeGridMetrics();
         if (cellSize <= 0) return false;
         int action = event.getActionMasked();
         float x = event.getX();
         float y = event.getY();
         if (action == MotionEvent.ACTION_DOWN) {
+            // la ficha bajo el dedo sigue al gesto hasta que se confirma el movimiento
             if (x >= gridLeft && x <= gridLeft + gridSize && y >= gridTop && y <= gridTop + gridSize) {
                 int col = (int) ((x - gridLeft - gap) / (cellSize + gap));
                 int row = (int) ((y - gridTop - gap) / (cellSize + gap));
                 if (row >= 0 && row < Board.SIZE && col >= 0 && col < Board.SIZE) {
-                    int val = gameManager.getBoard().getValue(row, col);
+                    int val = BitBoard.getValue(state.board, row, col);
                     if (val != 0) {
                         dragging = true;
                         dragValue = val;
@@ -294,42 +367,33 @@ public class GameView extends View {
                         dragX = x;
                         dragY = y;
                         invalidate();
-                        return true;
                     }
                 }
             }
         }
-        if (dragging) {
-            if (action == MotionEvent.ACTION_MOVE) {
-                dragX = x;
-                dragY = y;
-                invalidate();
-                return true;
-            } else if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
-                float startCenterX = gridLeft + gap + dragFromCol * (cellSize + gap) + cellSize / 2f;
-                float startCenterY = gridTop + gap + dragFromRow * (cellSize + gap) + cellSize / 2f;
-                float dx = x - startCenterX;
-                float dy = y - startCenterY;
-                float absDx = Math.abs(dx);
-                float absDy = Math.abs(dy);
-                float threshold = Math.max(20f, cellSize / 3f);
-                if (absDx > threshold || absDy > threshold) {
-                    if (absDx > absDy) doMove(dx > 0 ? Direction.RIGHT : Direction.LEFT);
-                    else doMove(dy > 0 ? Direction.DOWN : Direction.UP);
-                }
-                dragging = false;
-                dragValue = 0;
-                dragFromRow = -1;
-                dragFromCol = -1;
-                invalidate();
-                return true;
-            }
+        Direction dir = swipe.onTouchEvent(event);
+        if (dir != null) {
+            endDrag();
+            queueMove(dir, swipe.getDownTime());
+        } else if (dragging && action == MotionEvent.ACTION_MOVE) {
+            dragX = x;
+            dragY = y;
+            invalidate();
         }
-        gestureDetector.onTouchEvent(event);
+        if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) endDrag();
         if (action == MotionEvent.ACTION_UP) performClick();
         return true;
     }
 
+    private void endDrag() {
+        if (!dragging) return;
+        dragging = false;
+        dragValue = 0;
+        dragFromRow = -1;
+        dragFromCol = -1;
+        invalidate();
+    }
+
     @Override
     public boolean performClick() {
         return super.performClick();
@@ -338,10 +402,12 @@ public class GameView extends View {
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
-        // cancel animators
-        for (ValueAnimator va : animators.values()) {
-            try { va.cancel(); } catch (Exception ignored) {}
-        }
-        animators.clear();
+        // parar el reloj de animación
+        Choreographer.getInstance().removeFrameCallback(frameCallback);
+        framePending = false;
+        animations.cancel();
+        inputQueue.clear();
+        swipe.release();
+        frameStats.stop();
     }
 }
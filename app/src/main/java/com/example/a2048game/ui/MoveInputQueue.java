@@ -0,0 +1,66 @@
+package com.example.a2048game.ui;
+
+import com.example.a2048game.logic.Direction;
+
+/**
+ * Cola acotada de movimientos entre el gesto y GameManager.move. GameView la vacía en los
+ * límites de frame; si el jugador desliza más rápido de lo que se pueden aplicar, lo que
+ * exceda la profundidad se descarta en lugar de acumular retraso.
+ * Buffer circular de primitivos: encolar y sacar no reserva memoria. Solo hilo de UI.
+ */
+final class MoveInputQueue {
+
+    static final int DEFAULT_DEPTH = 2;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final byte[] directions;
+    private final long[] downTimes;
+    private int head = 0;
+    private int size = 0;
+    private int dropped = 0;
+
+    MoveInputQueue(int depth) {
+        if (depth < 1) throw new IllegalArgumentException("depth debe ser >= 1: " + depth);
+        directions = new byte[depth];
+        downTimes = new long[depth];
+    }
+
+    // Devuelve false (y cuenta el descarte) si la cola está llena
+    boolean offer(Direction dir, long downTimeMillis) {
+        if (size == directions.length) {
+            dropped++;
+            return false;
+        }
+        int tail = (head + size) % directions.length;
+        directions[tail] = (byte) dir.ordinal();
+        downTimes[tail] = downTimeMillis;
+        size++;
+        return true;
+    }
+
+    // Tiempo del ACTION_DOWN del siguiente movimiento; llamar antes de poll()
+    long peekDownTime() {
+        return downTimes[head];
+    }
+
+    Direction poll() {
+        if (size == 0) return null;
+        Direction dir = DIRECTIONS[directions[head]];
+        head = (head + 1) % directions.length;
+        size--;
+        return dir;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    boolean isEmpty() { return size == 0; }
+
+    int size() { return size; }
+
+    int depth() { return directions.length; }
+
+    int droppedCount() { return dropped; }
+}
@@ -0,0 +1,99 @@
+package com.example.a2048game.ui;
+
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+
+import com.example.a2048game.logic.Direction;
+
+/**
+ * Reconoce un deslizamiento y lo confirma durante ACTION_MOVE, sin esperar a levantar el dedo:
+ * basta con recorrer distanceDp en el eje dominante, o flingDistanceDp si la velocidad en ese
+ * eje supera velocityDp por segundo. Un solo movimiento por gesto. Los umbrales están en dp
+ * para que el gesto cueste lo mismo en cualquier densidad de pantalla.
+ * El VelocityTracker se reutiliza entre gestos, así que procesar eventos no reserva memoria.
+ */
+final class SwipeRecognizer {
+
+    static final float DEFAULT_DISTANCE_DP = 24f;
+    static final float DEFAULT_FLING_DISTANCE_DP = 8f;
+    static final float DEFAULT_VELOCITY_DP = 400f;
+
+    private final float density;
+    private float distancePx;
+    private float flingDistancePx;
+    private float velocityPx;
+
+    private VelocityTracker tracker;
+    private boolean tracking = false;
+    private float downX;
+    private float downY;
+    private long downTime;
+
+    SwipeRecognizer(float density) {
+        this.density = density;
+        setThresholds(DEFAULT_DISTANCE_DP, DEFAULT_FLING_DISTANCE_DP, DEFAULT_VELOCITY_DP);
+    }
+
+    void setThresholds(float distanceDp, float flingDistanceDp, float velocityDpPerSecond) {
+        if (distanceDp <= 0 || flingDistanceDp <= 0 || velocityDpPerSecond <= 0)
+            throw new IllegalArgumentException("Los umbrales deben ser positivos");
+        distancePx = distanceDp * density;
+        flingDistancePx = Math.min(flingDistanceDp, distanceDp) * density;
+        velocityPx = velocityDpPerSecond * density;
+    }
+
+    // Devuelve la dirección si este evento confirma el gesto, o null
+    Direction onTouchEvent(MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                if (tracker == null) tracker = VelocityTracker.obtain();
+                else tracker.clear();
+                tracker.addMovement(event);
+                tracking = true;
+                downX = event.getX();
+                downY = event.getY();
+                downTime = event.getDownTime();
+                return null;
+            case MotionEvent.ACTION_MOVE:
+            case MotionEvent.ACTION_UP:
+                if (!tracking) return null;
+                tracker.addMovement(event);
+                Direction dir = check(event.getX() - downX, event.getY() - downY);
+                if (dir != null || event.getActionMasked() == MotionEvent.ACTION_UP) tracking = false;
+                return dir;
+            case MotionEvent.ACTION_CANCEL:
+                tracking = false;
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private Direction check(float dx, float dy) {
+        boolean horizontal = Math.abs(dx) > Math.abs(dy);
+        float d = horizontal ? dx : dy;
+        float abs = Math.abs(d);
+        if (abs < flingDistancePx) return null;
+        if (abs < distancePx) {
+            tracker.computeCurrentVelocity(1000);
+            float v = horizontal ? tracker.getXVelocity() : tracker.getYVelocity();
+            // la velocidad tiene que ir en el mismo sentido que el recorrido
+            if (v * d <= 0 || Math.abs(v) < velocityPx) return null;
+        }
+        if (horizontal) return d > 0 ? Direction.RIGHT : Direction.LEFT;
+        return d > 0 ? Direction.DOWN : Direction.UP;
+    }
+
+    boolean isTracking() { return tracking; }
+
+    // Tiempo (SystemClock.uptimeMillis) del ACTION_DOWN del gesto en curso o del último
+    long getDownTime() { return downTime; }
+
+    void release() {
+        if (tracker != null) {
+            tracker.recycle();
+            tracker = null;
+        }
+        tracking = false;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.a2048game.ui;
+
+import com.example.a2048game.logic.MoveResult;
+
+/**
+ * Estado de todas las animaciones de fichas, avanzado una vez por frame desde un único reloj
+ * (Choreographer en GameView). Un movimiento tiene dos fases:
+ *   SLIDE: las fichas del tablero anterior se desplazan de su celda origen a la de destino
+ *   POP:   las celdas fusionadas y la ficha nueva aparecen con un "pop" de escala
+ * Todo el estado son arrays primitivos preasignados: avanzar y consultar no reserva memoria.
+ */
+final class TileAnimations {
+
+    static final long SLIDE_NANOS = 100_000_000L;
+    static final long POP_NANOS = 180_000_000L;
+    private static final float POP_SCALE = 1.4f;
+    private static final int CELLS = 16;
+
+    private static final int IDLE = 0;
+    private static final int SLIDE = 1;
+    private static final int POP = 2;
+
+    private int phase = IDLE;
+    // El tiempo de la fase se acumula por frame para poder cambiar la velocidad a mitad
+    private long lastFrameNanos;
+    private long phaseElapsed;
+    private float speed = 1f;
+    private float progress;
+
+    // Fichas en movimiento: celda origen, celda destino y exponente (del tablero anterior)
+    private final byte[] slideFrom = new byte[CELLS];
+    private final byte[] slideTo = new byte[CELLS];
+    private final byte[] slideExp = new byte[CELLS];
+    private int slideCount;
+
+    // Celdas que hacen "pop" al terminar el desplazamiento (fusiones + ficha nueva)
+    private int popMask;
+    // Tablero que debe estar en pantalla cuando acaba la animación
+    private long targetBoard;
+
+    void startMove(MoveResult move, long nowNanos) {
+        int count = move.getTileCount();
+        for (int i = 0; i < count; i++) {
+            slideFrom[i] = (byte) move.getFrom(i);
+            slideTo[i] = (byte) move.getTo(i);
+            slideExp[i] = (byte) move.getExponent(i);
+        }
+        slideCount = count;
+        int spawn = move.getSpawnCell();
+        popMask = move.getMergeMask() | (spawn >= 0 ? 1 << spawn : 0);
+        targetBoard = move.getBoardAfter();
+        phase = SLIDE;
+        lastFrameNanos = nowNanos;
+        phaseElapsed = 0;
+        speed = 1f;
+        progress = 0f;
+    }
+
+    // Multiplicador del tiempo (>= 1) para ponerse al día cuando hay movimientos en cola
+    void setSpeed(float speed) {
+        this.speed = Math.max(1f, speed);
+    }
+
+    // Salta al estado final: el tablero destino sin desplazamiento ni pop
+    void finish() {
+        phase = IDLE;
+        progress = 1f;
+    }
+
+    void cancel() {
+        phase = IDLE;
+        slideCount = 0;
+        popMask = 0;
+    }
+
+    boolean isActive() { return phase != IDLE; }
+
+    boolean isSliding() { return phase == SLIDE; }
+
+    long getTargetBoard() { return targetBoard; }
+
+    // Avanza con el tiempo del frame; devuelve true si hace falta otro frame
+    boolean advance(long frameNanos) {
+        if (phase == IDLE) return false;
+        // el vsync del Choreographer puede ser anterior al nanoTime con el que empezó el movimiento
+        long dt = Math.max(0, frameNanos - lastFrameNanos);
+        lastFrameNanos = Math.max(lastFrameNanos, frameNanos);
+        phaseElapsed += (long) (dt * speed);
+        if (phase == SLIDE) {
+            if (phaseElapsed < SLIDE_NANOS) {
+                progress = phaseElapsed / (float) SLIDE_NANOS;
+                return true;
+            }
+            phase = popMask != 0 ? POP : IDLE;
+            phaseElapsed -= SLIDE_NANOS;
+        }
+        if (phase == POP) {
+            if (phaseElapsed < POP_NANOS) {
+                progress = phaseElapsed / (float) POP_NANOS;
+                return true;
+            }
+            phase = IDLE;
+        }
+        progress = 1f;
+        return false;
+    }
+
+    int slideCount() { return slideCount; }
+
+    int slideFrom(int i) { return slideFrom[i]; }
+
+    int slideTo(int i) { return slideTo[i]; }
+
+    int slideExponent(int i) { return slideExp[i]; }
+
+    // Progreso del desplazamiento con desaceleración
+    float slideProgress() {
+        float t = progress;
+        return 1f - (1f - t) * (1f - t);
+    }
+
+    float scale(int cell) {
+        if (phase != POP || (popMask & (1 << cell)) == 0) return 1f;
+        return POP_SCALE + (1f - POP_SCALE) * progress;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.a2048game.ui;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import com.example.a2048game.model.BitBoard;
+
+/**
+ * Bitmaps precalculados para un tamaño de celda: una ficha por exponente (con fondo, esquinas
+ * y texto) y el fondo del tablero con las celdas vacías. Se construye una vez por tamaño;
+ * después dibujar un frame es solo copiar bitmaps.
+ */
+final class TileAtlas {
+
+    private static final int[] TILE_COLORS = {
+            0, // vacía
+            Color.parseColor("#eee4da"), // 2
+            Color.parseColor("#ede0c8"), // 4
+            Color.parseColor("#f2b179"), // 8
+            Color.parseColor("#f59563"), // 16
+            Color.parseColor("#f67c5f"), // 32
+            Color.parseColor("#f65e3b"), // 64
+            Color.parseColor("#edcf72"), // 128
+            Color.parseColor("#edcc61"), // 256
+            Color.parseColor("#edc850"), // 512
+            Color.parseColor("#edc53f"), // 1024
+            Color.parseColor("#edc22e"), // 2048
+    };
+    private static final int TILE_COLOR_OTHER = Color.parseColor("#d6d6d6");
+    private static final int TEXT_DARK = Color.parseColor("#776e65");
+    private static final int TEXT_LIGHT = Color.parseColor("#f9f6f2");
+    static final int BOARD_COLOR = Color.parseColor("#bbada0");
+    static final int CELL_COLOR = Color.parseColor("#cdc1b4");
+
+    final int cellSize;
+    final int gap;
+    final int padding;
+    final int gridSize;
+    final Bitmap background;
+    private final Bitmap[] tiles = new Bitmap[BitBoard.MAX_EXPONENT + 1];
+
+    TileAtlas(int cellSize, int gap, int padding, int gridSize) {
+        this.cellSize = cellSize;
+        this.gap = gap;
+        this.padding = padding;
+        this.gridSize = gridSize;
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        float corner = cellSize * 0.12f;
+        RectF rect = new RectF();
+
+        background = Bitmap.createBitmap(gridSize, gridSize, Bitmap.Config.ARGB_8888);
+        Canvas bg = new Canvas(background);
+        paint.setColor(BOARD_COLOR);
+        rect.set(0, 0, gridSize, gridSize);
+        bg.drawRoundRect(rect, padding, padding, paint);
+        paint.setColor(CELL_COLOR);
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 4; c++) {
+                float x = gap + c * (cellSize + gap);
+                float y = gap + r * (cellSize + gap);
+                rect.set(x, y, x + cellSize, y + cellSize);
+                bg.drawRoundRect(rect, corner, corner, paint);
+            }
+        }
+
+        rect.set(0, 0, cellSize, cellSize);
+        for (int exp = 1; exp < tiles.length; exp++) {
+            Bitmap bmp = Bitmap.createBitmap(cellSize, cellSize, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(bmp);
+            paint.setColor(exp < TILE_COLORS.length ? TILE_COLORS[exp] : TILE_COLOR_OTHER);
+            canvas.drawRoundRect(rect, corner, corner, paint);
+            String label = String.valueOf(1 << exp);
+            float textSize = cellSize * 0.42f;
+            textPaint.setTextSize(textSize);
+            // los números largos se reducen para que quepan en la celda
+            float width = textPaint.measureText(label);
+            if (width > cellSize * 0.85f) textPaint.setTextSize(textSize * cellSize * 0.85f / width);
+            textPaint.setColor(exp <= 2 ? TEXT_DARK : TEXT_LIGHT);
+            Paint.FontMetrics fm = textPaint.getFontMetrics();
+            canvas.drawText(label, cellSize / 2f, cellSize / 2f - (fm.descent + fm.ascent) / 2f, textPaint);
+            tiles[exp] = bmp;
+        }
+    }
+
+    Bitmap tile(int exp) {
+        return tiles[exp];
+    }
+
+    int byteCount() {
+        int total = background.getByteCount();
+        for (int exp = 1; exp < tiles.length; exp++) total += tiles[exp].getByteCount();
+        return total;
+    }
+}
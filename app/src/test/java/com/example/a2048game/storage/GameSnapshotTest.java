@@ -0,0 +1,44 @@
+package com.example.a2048game.storage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GameSnapshotTest {
+
+    @Test
+    public void encodeDecode_roundTrip() {
+        GameSnapshot s = new GameSnapshot(0x0123456789ABCDEFL, 12345, 678, 99999);
+        byte[] data = s.encode();
+        assertEquals(GameSnapshot.SIZE, data.length);
+        GameSnapshot d = GameSnapshot.decode(data, data.length);
+        assertNotNull(d);
+        assertEquals(s.board, d.board);
+        assertEquals(s.score, d.score);
+        assertEquals(s.moves, d.moves);
+        assertEquals(s.best, d.best);
+    }
+
+    @Test
+    public void decode_rejectsCorruptData() {
+        byte[] data = new GameSnapshot(42L, 1, 2, 3).encode();
+        data[10] ^= 1;
+        assertNull(GameSnapshot.decode(data, data.length));
+        assertNull(GameSnapshot.decode(new byte[GameSnapshot.SIZE], GameSnapshot.SIZE));
+        assertNull(GameSnapshot.decode(data, data.length - 1));
+    }
+
+    @Test
+    public void fromLegacy_convertsValidBoardsOnly() {
+        int[] flat = {2, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2048};
+        GameSnapshot s = GameSnapshot.fromLegacy(flat, 3000, 250, 1000);
+        assertNotNull(s);
+        assertEquals(0xB000000000000021L, s.board);
+        assertEquals(3000, s.score);
+        assertEquals(250, s.moves);
+        assertEquals(3000, s.best);
+        flat[3] = 3;
+        assertNull(GameSnapshot.fromLegacy(flat, 0, 0, 0));
+        assertNull(GameSnapshot.fromLegacy(new int[15], 0, 0, 0));
+    }
+}
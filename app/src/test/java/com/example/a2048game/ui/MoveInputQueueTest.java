@@ -0,0 +1,27 @@
+package com.example.a2048game.ui;
+
+import com.example.a2048game.logic.Direction;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MoveInputQueueTest {
+
+    @Test
+    public void offer_keepsOrderAndDropsBeyondDepth() {
+        MoveInputQueue q = new MoveInputQueue(2);
+        assertTrue(q.offer(Direction.LEFT, 10));
+        assertTrue(q.offer(Direction.UP, 20));
+        assertFalse(q.offer(Direction.RIGHT, 30));
+        assertEquals(1, q.droppedCount());
+        assertEquals(10, q.peekDownTime());
+        assertEquals(Direction.LEFT, q.poll());
+        assertTrue(q.offer(Direction.DOWN, 40));
+        assertEquals(Direction.UP, q.poll());
+        assertEquals(40, q.peekDownTime());
+        assertEquals(Direction.DOWN, q.poll());
+        assertNull(q.poll());
+        assertTrue(q.isEmpty());
+    }
+}
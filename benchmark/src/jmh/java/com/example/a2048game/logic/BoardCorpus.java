@@ -0,0 +1,61 @@
+package com.example.a2048game.logic;
+
+import com.example.a2048game.logic.ai.ExpectimaxSearcher;
+import com.example.a2048game.model.BitBoard;
+
+import java.util.SplittableRandom;
+
+/**
+ * Corpus fijo de tableros para los benchmarks, generado con semilla fija jugando con expectimax:
+ *   early: primeros movimientos de la partida
+ *   mid:   ficha máxima entre 256 y 512
+ *   late:  ficha máxima >= 1024 y como mucho 4 casillas vacías
+ */
+public final class BoardCorpus {
+
+    public static final int SIZE = 256;
+    private static final long SEED = 2048L;
+
+    private BoardCorpus() {}
+
+    public static long[] get(String phase) {
+        switch (phase) {
+            case "early": return generate(0);
+            case "mid": return generate(1);
+            case "late": return generate(2);
+            default: throw new IllegalArgumentException("Fase desconocida: " + phase);
+        }
+    }
+
+    private static boolean matches(int phase, long board, int move) {
+        int max = BitBoard.maxExponent(board);
+        switch (phase) {
+            case 0: return move >= 5 && move < 60;
+            case 1: return max >= 8 && max <= 9;
+            default: return max >= 10 && BitBoard.countEmpty(board) <= 4;
+        }
+    }
+
+    private static long[] generate(int phase) {
+        long[] out = new long[SIZE];
+        int n = 0;
+        SplittableRandom random = new SplittableRandom(SEED + phase);
+        ExpectimaxSearcher searcher = new ExpectimaxSearcher();
+        while (n < SIZE) {
+            long board = spawn(spawn(0L, random), random);
+            for (int move = 0; n < SIZE && MoveTables.canMove(board); move++) {
+                // muestreamos uno de cada 4 tableros válidos para no repetir posiciones casi iguales
+                if (matches(phase, board, move) && random.nextInt(4) == 0) out[n++] = board;
+                Direction dir = searcher.search(board, 2).bestMove;
+                board = spawn(MoveTables.move(board, dir), random);
+            }
+        }
+        return out;
+    }
+
+    private static long spawn(long board, SplittableRandom random) {
+        int empty = BitBoard.countEmpty(board);
+        if (empty == 0) return board;
+        return BitBoard.spawnAt(board, random.nextInt(empty), random.nextDouble() < 0.9 ? 1 : 2);
+    }
+}
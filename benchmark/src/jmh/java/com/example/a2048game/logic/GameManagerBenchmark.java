@@ -0,0 +1,70 @@
+package com.example.a2048game.logic;
+
+import com.example.a2048game.model.BitBoard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Cada invocación carga el siguiente tablero del corpus antes de operar con él
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameManagerBenchmark {
+
+    @Param({"early", "mid", "late"})
+    public String phase;
+
+    private long[] corpus;
+    private int[][] flattened;
+    private GameManager gm;
+    private int i;
+
+    @Setup
+    public void setup() {
+        corpus = BoardCorpus.get(phase);
+        flattened = new int[corpus.length][16];
+        for (int k = 0; k < corpus.length; k++) BitBoard.toValues(corpus[k], flattened[k]);
+        gm = new GameManager(null, null, 0);
+    }
+
+    private long nextBoard() {
+        long b = corpus[i];
+        i = (i + 1) & (BoardCorpus.SIZE - 1);
+        return b;
+    }
+
+    @Benchmark
+    public boolean isGameOver() {
+        gm.getBoard().setPacked(nextBoard());
+        return gm.isGameOver();
+    }
+
+    @Benchmark
+    public long spawnRandomTile() {
+        gm.getBoard().setPacked(nextBoard());
+        gm.spawnRandomTile();
+        return gm.getBoard().getPacked();
+    }
+
+    @Benchmark
+    public int[] getBoardFlattened() {
+        gm.getBoard().setPacked(nextBoard());
+        return gm.getBoardFlattened();
+    }
+
+    @Benchmark
+    public long restoreFromFlattened() {
+        int[] flat = flattened[i];
+        i = (i + 1) & (BoardCorpus.SIZE - 1);
+        gm.restoreFromFlattened(flat, 0, 0);
+        return gm.getBoard().getPacked();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.a2048game.logic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Fusión de una sola línea (lo que antes hacía GameManager.mergeLine): consulta en las tablas de filas
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MergeLineBenchmark {
+
+    @Param({"early", "mid", "late"})
+    public String phase;
+
+    private int[] rows;
+    private int i;
+
+    @Setup
+    public void setup() {
+        long[] corpus = BoardCorpus.get(phase);
+        rows = new int[corpus.length * 4];
+        for (int k = 0; k < corpus.length; k++) {
+            for (int r = 0; r < 4; r++) rows[k * 4 + r] = (int) ((corpus[k] >>> (r << 4)) & 0xFFFF);
+        }
+    }
+
+    @Benchmark
+    public int mergeLine() {
+        int row = rows[i];
+        i = (i + 1) & (rows.length - 1);
+        return MoveTables.rowLeft(row) + MoveTables.rowScore(row);
+    }
+}
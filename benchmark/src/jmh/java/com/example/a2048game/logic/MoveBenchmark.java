@@ -0,0 +1,62 @@
+package com.example.a2048game.logic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// GameManager.move completo (incluye aparición de ficha y fin de partida) frente a solo las tablas
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoveBenchmark {
+
+    @Param({"early", "mid", "late"})
+    public String phase;
+
+    @Param({"UP", "DOWN", "LEFT", "RIGHT"})
+    public Direction direction;
+
+    private long[] corpus;
+    private GameManager gm;
+    private int i;
+
+    @Setup
+    public void setup() {
+        corpus = BoardCorpus.get(phase);
+        gm = new GameManager(null, null, 0);
+        // sin registro: con un solo GameManager crecería miles de millones de movimientos por trial
+        gm.setReplayRecording(false);
+    }
+
+    // También deshace cualquier resto de la iteración anterior (historial, puntuación)
+    @Setup(Level.Iteration)
+    public void newGame() {
+        gm.newGame(BoardCorpus.SIZE);
+    }
+
+    private long nextBoard() {
+        long b = corpus[i];
+        i = (i + 1) & (BoardCorpus.SIZE - 1);
+        return b;
+    }
+
+    @Benchmark
+    public boolean move() {
+        gm.getBoard().setPacked(nextBoard());
+        return gm.move(direction);
+    }
+
+    // Solo tablas, sin aparición de ficha ni comprobación de fin de partida
+    @Benchmark
+    public long moveTables() {
+        return MoveTables.move(nextBoard(), direction);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.a2048game.logic.ai;
+
+import com.example.a2048game.logic.BoardCorpus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escalado de ParallelExpectimaxSearcher con el número de hilos: el speedup es el cociente
+ * entre la puntuación con threads=1 y la de cada valor. La tabla se vacía antes de cada búsqueda
+ * para que al repetir el corpus no se midan aciertos de la anterior.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelSearchBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"mid", "late"})
+    public String phase;
+
+    @Param({"4"})
+    public int depth;
+
+    private long[] corpus;
+    private ParallelExpectimaxSearcher searcher;
+    private int i;
+    private long board;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        corpus = BoardCorpus.get(phase);
+        searcher = new ParallelExpectimaxSearcher(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        searcher.shutdown();
+    }
+
+    // Una búsqueda tarda milisegundos: el coste de Level.Invocation no se nota
+    @Setup(Level.Invocation)
+    public void nextBoard() {
+        board = corpus[i];
+        i = (i + 1) & (BoardCorpus.SIZE - 1);
+        searcher.getTable().clear();
+    }
+
+    @Benchmark
+    public SearchResult search() {
+        return searcher.search(board, depth);
+    }
+}
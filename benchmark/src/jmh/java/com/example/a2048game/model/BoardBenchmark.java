@@ -0,0 +1,59 @@
+package com.example.a2048game.model;
+
+import com.example.a2048game.logic.BoardCorpus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoardBenchmark {
+
+    @Param({"early", "mid", "late"})
+    public String phase;
+
+    private Board[] boards;
+    private int i;
+
+    @Setup
+    public void setup() {
+        long[] corpus = BoardCorpus.get(phase);
+        boards = new Board[corpus.length];
+        for (int k = 0; k < corpus.length; k++) boards[k] = new Board(corpus[k]);
+    }
+
+    private Board nextBoard() {
+        Board b = boards[i];
+        i = (i + 1) & (BoardCorpus.SIZE - 1);
+        return b;
+    }
+
+    // Board.clone sustituye también a GameManager.copyBoard, que ya no existe
+    @Benchmark
+    public Board cloneBoard() {
+        return nextBoard().clone();
+    }
+
+    @Benchmark
+    public boolean isFull() {
+        return nextBoard().isFull();
+    }
+
+    @Benchmark
+    public int getValueAllCells() {
+        Board b = nextBoard();
+        int sum = 0;
+        for (int r = 0; r < Board.SIZE; r++)
+            for (int c = 0; c < Board.SIZE; c++) sum += b.getValue(r, c);
+        return sum;
+    }
+}
@@ -0,0 +1,32 @@
+plugins {
+    `java-library`
+}
+
+// Núcleo del juego en Java puro (modelo, reglas, IA, simulador): sin dependencias de Android.
+// Se compila a nivel Java 8 para que :app pueda usarlo tal cual.
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
+
+tasks.register<JavaExec>("simulate") {
+    group = "application"
+    description = "Ejecuta el simulador por lotes, p. ej. -Pargs=\"--games 10000 --policy expectimax\""
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.a2048game.logic.sim.SimulatorMain")
+    args = (project.findProperty("args") as String?)?.split(" ") ?: emptyList()
+}
+
+tasks.register<JavaExec>("train") {
+    group = "application"
+    description = "Entrena una red n-tupla por autojuego, p. ej. -Pargs=\"--weights red.ntup --games 1000000\""
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.a2048game.logic.train.TrainerMain")
+    // las tablas de pesos van mapeadas fuera del heap; el heap solo necesita lo básico
+    maxHeapSize = "512m"
+    args = (project.findProperty("args") as String?)?.split(" ") ?: emptyList()
+}
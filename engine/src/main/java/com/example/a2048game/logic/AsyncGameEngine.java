@@ -0,0 +1,156 @@
+package com.example.a2048game.logic;
+
+import com.example.a2048game.metrics.EngineMetrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Dueño del GameManager: todos los comandos se ejecutan en el executor del motor y, al terminar
+ * cada uno, se publica un GameState inmutable. La UI solo lee ese estado (getState() sin bloqueos,
+ * o los listeners, que se llaman en el executor de callbacks en orden de publicación).
+ * Con threaded() el motor tiene su propio hilo; con synchronous() todo corre en el hilo que llama.
+ */
+public final class AsyncGameEngine {
+
+    public interface StateListener {
+        void onState(GameState state);
+    }
+
+    private final GameManager gameManager;
+    private final Executor engineExecutor;
+    private final Executor callbackExecutor;
+    // solo si el executor es nuestro y hay que pararlo en shutdown()
+    private final ExecutorService ownedExecutor;
+    private final AtomicReference<GameState> state = new AtomicReference<>();
+    private final List<StateListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong commands = new AtomicLong();
+
+    // Solo se tocan desde el hilo del motor
+    private long version = 0;
+    private int pendingEvents = 0;
+    private MoveResult pendingMove;
+
+    public static AsyncGameEngine threaded(int bestScore, GameRandom random, Executor callbackExecutor) {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "game-engine");
+            t.setDaemon(true);
+            return t;
+        });
+        return new AsyncGameEngine(bestScore, random, executor, callbackExecutor, executor);
+    }
+
+    public static AsyncGameEngine synchronous(int bestScore, GameRandom random) {
+        Executor direct = Runnable::run;
+        return new AsyncGameEngine(bestScore, random, direct, direct, null);
+    }
+
+    public AsyncGameEngine(int bestScore, GameRandom random, Executor engineExecutor, Executor callbackExecutor) {
+        this(bestScore, random, engineExecutor, callbackExecutor, null);
+    }
+
+    private AsyncGameEngine(int bestScore, GameRandom random, Executor engineExecutor, Executor callbackExecutor,
+                            ExecutorService ownedExecutor) {
+        this.engineExecutor = engineExecutor;
+        this.callbackExecutor = callbackExecutor;
+        this.ownedExecutor = ownedExecutor;
+        this.gameManager = new GameManager(null, () -> pendingEvents |= GameState.EVENT_GAME_OVER, bestScore, random);
+        gameManager.setOnWinListener(() -> pendingEvents |= GameState.EVENT_WIN);
+        gameManager.addMoveListener(result -> {
+            MoveResult copy = new MoveResult();
+            copy.copyFrom(result);
+            pendingMove = copy;
+        });
+        state.set(new GameState(version, 0, gameManager, 0, null));
+    }
+
+    public void addStateListener(StateListener l) {
+        if (l != null && !listeners.contains(l)) listeners.add(l);
+    }
+
+    public void removeStateListener(StateListener l) {
+        listeners.remove(l);
+    }
+
+    // Último estado publicado; nunca null
+    public GameState getState() {
+        return state.get();
+    }
+
+    public long move(final Direction dir) {
+        return execute(gm -> gm.move(dir));
+    }
+
+    public long undo() {
+        return execute(GameManager::undo);
+    }
+
+    public long redo() {
+        return execute(GameManager::redo);
+    }
+
+    public long newGame() {
+        return execute(GameManager::newGame);
+    }
+
+    public long setMetrics(final EngineMetrics metrics) {
+        return execute(gm -> gm.setMetrics(metrics));
+    }
+
+    public long restore(final long packed, final int score, final int moves) {
+        return execute(gm -> gm.restore(packed, score, moves));
+    }
+
+    /**
+     * Como restore(), pero no hace nada si la partida actual ya se ha tocado (movimientos o
+     * historial): para una partida guardada que llega de disco cuando el jugador puede haber
+     * empezado ya a jugar la nueva.
+     */
+    public long restoreIfUntouched(final long packed, final int score, final int moves) {
+        return execute(gm -> {
+            if (gm.getMoves() == 0 && !gm.canUndo() && !gm.canRedo()) gm.restore(packed, score, moves);
+        });
+    }
+
+    public interface Command {
+        void run(GameManager gm);
+    }
+
+    /**
+     * Cualquier trabajo sobre el GameManager (solo válido dentro del comando, en el hilo del motor).
+     * Devuelve el id del comando (único y distinto de 0), que lleva GameState.command en el estado
+     * que lo publica. Con synchronous() ese estado ya se ha publicado al volver.
+     */
+    public long execute(final Command command) {
+        final long id = commands.incrementAndGet();
+        engineExecutor.execute(() -> {
+            try {
+                command.run(gameManager);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            publish(id);
+        });
+        return id;
+    }
+
+    private void publish(long command) {
+        final GameState s = new GameState(++version, command, gameManager, pendingEvents, pendingMove);
+        pendingEvents = 0;
+        pendingMove = null;
+        state.set(s);
+        if (listeners.isEmpty()) return;
+        callbackExecutor.execute(() -> {
+            for (StateListener l : listeners) l.onState(s);
+        });
+    }
+
+    public void shutdown() {
+        if (ownedExecutor != null) ownedExecutor.shutdown();
+    }
+}
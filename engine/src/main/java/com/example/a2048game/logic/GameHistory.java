@@ -0,0 +1,90 @@
+package com.example.a2048game.logic;
+
+/**
+ * Historial de estados para deshacer/rehacer en un buffer circular de capacidad fija.
+ * Cada estado son cuatro primitivos (tablero empaquetado, puntuación, movimientos y estado del
+ * generador aleatorio, para que rehacer y los movimientos nuevos sean reproducibles), así que
+ * registrar un movimiento no reserva memoria y el consumo no crece con la partida.
+ * El estado actual también vive en el buffer: con capacidad N se pueden deshacer N - 1 pasos.
+ */
+public class GameHistory {
+
+    private final long[] boards;
+    private final int[] scores;
+    private final int[] moves;
+    private final long[] rngStates;
+    private int cursor = 0;
+    private int back = 0;    // estados anteriores disponibles para deshacer
+    private int forward = 0; // estados posteriores disponibles para rehacer
+
+    public GameHistory(int undoLevels) {
+        if (undoLevels < 1) throw new IllegalArgumentException("undoLevels debe ser >= 1");
+        int capacity = undoLevels + 1;
+        boards = new long[capacity];
+        scores = new int[capacity];
+        moves = new int[capacity];
+        rngStates = new long[capacity];
+    }
+
+    public int getUndoLevels() { return boards.length - 1; }
+
+    // Vacía el historial dejando solo el estado dado
+    public void reset(long board, int score, int moveCount, long rngState) {
+        cursor = 0;
+        back = 0;
+        forward = 0;
+        write(board, score, moveCount, rngState);
+    }
+
+    // Registra el estado tras un movimiento; descarta lo que hubiera para rehacer
+    public void record(long board, int score, int moveCount, long rngState) {
+        cursor = next(cursor);
+        if (back < boards.length - 1) back++;
+        forward = 0;
+        write(board, score, moveCount, rngState);
+    }
+
+    public boolean canUndo() { return back > 0; }
+
+    public boolean canRedo() { return forward > 0; }
+
+    public int undoDepth() { return back; }
+
+    public int redoDepth() { return forward; }
+
+    public boolean undo() {
+        if (back == 0) return false;
+        cursor = cursor == 0 ? boards.length - 1 : cursor - 1;
+        back--;
+        forward++;
+        return true;
+    }
+
+    public boolean redo() {
+        if (forward == 0) return false;
+        cursor = next(cursor);
+        forward--;
+        back++;
+        return true;
+    }
+
+    // Estado actual (tras undo/redo, el estado al que hay que volver)
+    public long currentBoard() { return boards[cursor]; }
+
+    public int currentScore() { return scores[cursor]; }
+
+    public int currentMoves() { return moves[cursor]; }
+
+    public long currentRngState() { return rngStates[cursor]; }
+
+    private int next(int i) {
+        return i + 1 == boards.length ? 0 : i + 1;
+    }
+
+    private void write(long board, int score, int moveCount, long rngState) {
+        boards[cursor] = board;
+        scores[cursor] = score;
+        moves[cursor] = moveCount;
+        rngStates[cursor] = rngState;
+    }
+}
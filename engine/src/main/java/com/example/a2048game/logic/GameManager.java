@@ -0,0 +1,301 @@
+package com.example.a2048game.logic;
+
+import com.example.a2048game.metrics.AllocationCounter;
+import com.example.a2048game.metrics.EngineMetrics;
+import com.example.a2048game.model.BitBoard;
+import com.example.a2048game.model.Board;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameManager {
+
+    private Board board;
+    private int score;
+    private int bestScore;
+    private int moves; // number of moves used
+    private final GameRandom random;
+    private long seed;
+    // null si la partida se restauró sin semilla (no se puede reproducir)
+    private ReplayLog replayLog;
+    private boolean recordReplay = true;
+    private OnScoreChangedListener scoreListener;
+    private OnGameOverListener gameOverListener;
+    private OnWinListener winListener;
+    private final List<OnMoveListener> moveListeners = new ArrayList<>();
+    // reutilizado en cada movimiento; solo se rellena si hay listeners
+    private final MoveResult moveResult = new MoveResult();
+
+    // undo/redo: buffer circular de estados empaquetados
+    public static final int DEFAULT_UNDO_LEVELS = 16;
+    private GameHistory history = new GameHistory(DEFAULT_UNDO_LEVELS);
+
+    // internal tracking for merges
+    private int lastMergedValue = 0;
+
+    // null: sin medición (el coste es una comprobación por operación)
+    private EngineMetrics metrics;
+
+    public interface OnScoreChangedListener {
+        void onScoreChanged(int newScore);
+    }
+
+    public interface OnGameOverListener {
+        void onGameOver();
+    }
+
+    public interface OnWinListener {
+        void onWin();
+    }
+
+    // El MoveResult se reutiliza: válido solo durante el callback
+    public interface OnMoveListener {
+        void onMove(MoveResult result);
+    }
+
+    public GameManager(OnScoreChangedListener scoreListener, OnGameOverListener gameOverListener, int bestScore) {
+        this(scoreListener, gameOverListener, bestScore, new GameRandom());
+    }
+
+    // Con un GameRandom sembrado, la secuencia de partidas es reproducible
+    public GameManager(OnScoreChangedListener scoreListener, OnGameOverListener gameOverListener, int bestScore, GameRandom random) {
+        this.scoreListener = scoreListener;
+        this.gameOverListener = gameOverListener;
+        this.bestScore = bestScore;
+        this.random = random;
+        newGame();
+    }
+
+    public void setOnWinListener(OnWinListener l) { this.winListener = l; }
+
+    public void setMetrics(EngineMetrics metrics) { this.metrics = metrics; }
+
+    public EngineMetrics getMetrics() { return metrics; }
+
+    /**
+     * Sin registro, getReplayLog() es null y move() no guarda nada: para quien reutiliza un
+     * GameManager millones de veces (benchmarks), donde el registro crecería sin límite.
+     */
+    public void setReplayRecording(boolean enabled) {
+        recordReplay = enabled;
+        if (!enabled) replayLog = null;
+    }
+
+    public void addMoveListener(OnMoveListener l) {
+        if (l != null && !moveListeners.contains(l)) moveListeners.add(l);
+    }
+
+    public void removeMoveListener(OnMoveListener l) {
+        moveListeners.remove(l);
+    }
+
+    // Cada partida se siembra con un valor nuevo del generador, así siempre tiene semilla conocida
+    public void newGame() {
+        newGame(random.nextLong());
+    }
+
+    public void newGame(long gameSeed) {
+        try {
+            seed = gameSeed;
+            random.setSeed(gameSeed);
+            replayLog = recordReplay ? new ReplayLog(gameSeed) : null;
+            board = new Board();
+            score = 0;
+            moves = 0;
+            lastMergedValue = 0;
+            spawnRandomTile();
+            spawnRandomTile();
+            history.reset(board.getPacked(), score, moves, random.getState());
+            notifyScore();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getMoves() { return moves; }
+
+    public long getSeed() { return seed; }
+
+    public ReplayLog getReplayLog() { return replayLog; }
+
+    public int getBestScore() {
+        return Math.max(bestScore, score);
+    }
+
+    private void notifyScore() {
+        if (scoreListener != null) scoreListener.onScoreChanged(score);
+    }
+
+    // package-private para los benchmarks
+    void spawnRandomTile() {
+        EngineMetrics m = metrics;
+        if (m == null) {
+            spawnInto(board, random);
+            return;
+        }
+        long start = System.nanoTime();
+        spawnInto(board, random);
+        m.record(EngineMetrics.Op.SPAWN, System.nanoTime() - start);
+    }
+
+    // Misma regla que spawnRandomTile(long, GameRandom) usando la máscara de vacías del Board
+    private static void spawnInto(Board b, GameRandom random) {
+        int empty = b.countEmpty();
+        if (empty == 0) return;
+        int k = random.nextInt(empty);
+        b.spawnAt(k, random.nextDouble() < 0.9 ? 1 : 2);
+    }
+
+    // Regla de aparición compartida por GameManager, ReplayLog y el simulador:
+    // casilla vacía uniforme (orden fila a fila), 2 con probabilidad 0.9 y 4 con 0.1
+    public static long spawnRandomTile(long board, GameRandom random) {
+        int empty = BitBoard.countEmpty(board);
+        if (empty == 0) return board;
+        int k = random.nextInt(empty);
+        int exp = random.nextDouble() < 0.9 ? 1 : 2;
+        return BitBoard.spawnAt(board, k, exp);
+    }
+
+    public boolean move(Direction dir) {
+        if (board == null || dir == null) return false;
+        EngineMetrics m = metrics;
+        if (m == null) return applyMove(dir);
+        long bytes = m.isTrackingAllocations() ? AllocationCounter.currentThreadAllocatedBytes() : -1;
+        long start = System.nanoTime();
+        boolean moved = applyMove(dir);
+        m.record(EngineMetrics.Op.MOVE, System.nanoTime() - start);
+        m.recordMove(moved);
+        if (bytes >= 0) {
+            m.recordAllocation(AllocationCounter.currentThreadAllocatedBytes() - bytes - AllocationCounter.overhead());
+        }
+        return moved;
+    }
+
+    // Incluye spawn, historial, registro y listeners: todo lo que cuesta un movimiento
+    private boolean applyMove(Direction dir) {
+        long before = board.getPacked();
+        lastMergedValue = 0;
+        long after = MoveTables.move(before, dir);
+        boolean moved = after != before;
+        if (moved) {
+            board.setPacked(after);
+            int gain = MoveTables.scoreGain(before, dir);
+            score += gain;
+            // track largest merged value in this move
+            lastMergedValue = BitBoard.toValue(MoveTables.maxMergedExponent(before, dir));
+            moves++;
+            spawnRandomTile();
+            history.record(board.getPacked(), score, moves, random.getState());
+            if (replayLog != null) replayLog.append(dir);
+            if (!moveListeners.isEmpty()) {
+                moveResult.set(dir, before, after, board.getPacked(), gain);
+                for (int i = 0; i < moveListeners.size(); i++) moveListeners.get(i).onMove(moveResult);
+            }
+            notifyScore();
+            if (lastMergedValue >= 2048 && winListener != null) winListener.onWin();
+            if (isGameOver() && gameOverListener != null) gameOverListener.onGameOver();
+        }
+        return moved;
+    }
+
+    public boolean isGameOver() {
+        EngineMetrics m = metrics;
+        if (m == null) return checkGameOver();
+        long start = System.nanoTime();
+        boolean over = checkGameOver();
+        m.record(EngineMetrics.Op.IS_GAME_OVER, System.nanoTime() - start);
+        return over;
+    }
+
+    private boolean checkGameOver() {
+        return board.isFull() && BitBoard.isGameOver(board.getPacked());
+    }
+
+    // undo/redo support
+    public void setUndoLevels(int levels) {
+        if (levels == history.getUndoLevels()) return;
+        history = new GameHistory(levels);
+        if (board != null) history.reset(board.getPacked(), score, moves, random.getState());
+    }
+
+    public int getUndoLevels() { return history.getUndoLevels(); }
+
+    public boolean canUndo() {
+        return history.canUndo();
+    }
+
+    public boolean canRedo() {
+        return history.canRedo();
+    }
+
+    public void undo() {
+        long start = metrics != null ? System.nanoTime() : 0;
+        if (history.undo()) applyHistoryState();
+        if (metrics != null) metrics.record(EngineMetrics.Op.UNDO, System.nanoTime() - start);
+    }
+
+    public void redo() {
+        long start = metrics != null ? System.nanoTime() : 0;
+        if (history.redo()) applyHistoryState();
+        if (metrics != null) metrics.record(EngineMetrics.Op.REDO, System.nanoTime() - start);
+    }
+
+    private void applyHistoryState() {
+        board.setPacked(history.currentBoard());
+        score = history.currentScore();
+        moves = history.currentMoves();
+        random.setState(history.currentRngState());
+        if (replayLog != null) replayLog.setLength(moves);
+        notifyScore();
+    }
+
+    // Serialization helpers for save/restore
+    public int[] getBoardFlattened() {
+        int[] flat = new int[Board.SIZE * Board.SIZE];
+        BitBoard.toValues(board.getPacked(), flat);
+        return flat;
+    }
+
+    public void restoreFromFlattened(int[] flat, int restoredScore, int restoredMoves) {
+        if (flat == null || flat.length != Board.SIZE * Board.SIZE) return;
+        long packed;
+        try {
+            packed = BitBoard.fromValues(flat);
+        } catch (IllegalArgumentException e) {
+            return; // datos guardados corruptos
+        }
+        restore(packed, restoredScore, restoredMoves);
+    }
+
+    public void restore(long packed, int restoredScore, int restoredMoves) {
+        this.board = new Board(packed);
+        this.score = restoredScore;
+        this.moves = restoredMoves;
+        // clear undo; sin semilla la partida restaurada no es reproducible
+        this.replayLog = null;
+        history.reset(packed, restoredScore, restoredMoves, random.getState());
+        notifyScore();
+    }
+
+    // Reconstruye exactamente la partida de un registro (semilla + movimientos)
+    public void restoreFromReplay(ReplayLog log) {
+        ReplayLog.State state = log.replay();
+        this.seed = log.getSeed();
+        this.board = new Board(state.board);
+        this.score = state.score;
+        this.moves = state.moves;
+        this.lastMergedValue = 0;
+        random.setState(state.rngState);
+        this.replayLog = log;
+        history.reset(state.board, state.score, state.moves, state.rngState);
+        notifyScore();
+    }
+}
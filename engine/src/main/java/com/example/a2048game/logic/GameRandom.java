@@ -0,0 +1,46 @@
+package com.example.a2048game.logic;
+
+/**
+ * Generador SplitMix64: rápido, sin sincronización y con todo su estado en un long,
+ * así que una partida se puede reproducir a partir de su semilla y el estado cabe en el historial.
+ * No es thread-safe.
+ */
+public class GameRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    public GameRandom() {
+        this(mix(System.nanoTime() ^ Thread.currentThread().getId() * GOLDEN_GAMMA));
+    }
+
+    public void setSeed(long seed) { this.state = seed; }
+
+    public long getState() { return state; }
+
+    public void setState(long state) { this.state = state; }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    // Entero en [0, bound) por multiplicación (sesgo despreciable para límites pequeños)
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+}
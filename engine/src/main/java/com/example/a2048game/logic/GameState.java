@@ -0,0 +1,42 @@
+package com.example.a2048game.logic;
+
+/**
+ * Instantánea inmutable de la partida que AsyncGameEngine publica tras cada comando.
+ * Se puede leer desde cualquier hilo. lastMove es una copia propia del MoveResult
+ * (null si el comando no fue un movimiento que cambió el tablero): no modificarla.
+ */
+public final class GameState {
+
+    public static final int EVENT_WIN = 1;
+    public static final int EVENT_GAME_OVER = 1 << 1;
+
+    public final long version;
+    // id que devolvió AsyncGameEngine.execute() para el comando que generó este estado (0 el inicial)
+    public final long command;
+    public final long board;
+    public final int score;
+    public final int bestScore;
+    public final int moves;
+    public final boolean canUndo;
+    public final boolean canRedo;
+    // eventos que produjo el comando que generó este estado (EVENT_*)
+    public final int events;
+    public final MoveResult lastMove;
+
+    GameState(long version, long command, GameManager gm, int events, MoveResult lastMove) {
+        this.version = version;
+        this.command = command;
+        this.board = gm.getBoard().getPacked();
+        this.score = gm.getScore();
+        this.bestScore = gm.getBestScore();
+        this.moves = gm.getMoves();
+        this.canUndo = gm.canUndo();
+        this.canRedo = gm.canRedo();
+        this.events = events;
+        this.lastMove = lastMove;
+    }
+
+    public boolean hasEvent(int event) {
+        return (events & event) != 0;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.a2048game.logic;
+
+import com.example.a2048game.model.BitBoard;
+
+/**
+ * Qué cambió en un movimiento: origen y destino de cada ficha, fusiones, ficha nueva y puntos.
+ * GameManager reutiliza una sola instancia (arrays primitivos, sin reservas por movimiento),
+ * así que quien quiera guardarla más allá del callback debe copiar los datos.
+ * Las celdas son índices 0..15 en orden fila a fila (celda = fila * 4 + columna).
+ */
+public final class MoveResult {
+
+    private static final int CELLS = BitBoard.CELLS;
+
+    private Direction direction;
+    private long boardBefore;
+    private long boardMoved;
+    private long boardAfter;
+    private int scoreDelta;
+
+    // Una entrada por ficha del tablero anterior
+    private final byte[] from = new byte[CELLS];
+    private final byte[] to = new byte[CELLS];
+    private final byte[] exponent = new byte[CELLS];
+    private int tileCount;
+    // bit i: la ficha i se fusionó en su destino; bit celda: en esa celda hubo fusión
+    private int mergedTiles;
+    private int mergeMask;
+
+    private int spawnCell = -1;
+    private int spawnExponent;
+
+    // before: tablero anterior; moved: tras desplazar; after: con la ficha nueva
+    void set(Direction dir, long before, long moved, long after, int gain) {
+        direction = dir;
+        boardBefore = before;
+        boardMoved = moved;
+        boardAfter = after;
+        scoreDelta = gain;
+        trace(before, dir);
+        long diff = moved ^ after;
+        if (diff == 0) {
+            spawnCell = -1;
+            spawnExponent = 0;
+        } else {
+            spawnCell = Long.numberOfTrailingZeros(diff) >>> 2;
+            spawnExponent = BitBoard.getExponent(after, spawnCell >>> 2, spawnCell & 3);
+        }
+    }
+
+    // Para conservar un resultado fuera del callback sin reservar en cada movimiento
+    public void copyFrom(MoveResult other) {
+        direction = other.direction;
+        boardBefore = other.boardBefore;
+        boardMoved = other.boardMoved;
+        boardAfter = other.boardAfter;
+        scoreDelta = other.scoreDelta;
+        System.arraycopy(other.from, 0, from, 0, other.tileCount);
+        System.arraycopy(other.to, 0, to, 0, other.tileCount);
+        System.arraycopy(other.exponent, 0, exponent, 0, other.tileCount);
+        tileCount = other.tileCount;
+        mergedTiles = other.mergedTiles;
+        mergeMask = other.mergeMask;
+        spawnCell = other.spawnCell;
+        spawnExponent = other.spawnExponent;
+    }
+
+    // Misma regla que MoveTables: cada ficha se fusiona como mucho una vez, hacia la dirección del movimiento
+    private void trace(long before, Direction dir) {
+        int count = 0;
+        int merged = 0;
+        int mask = 0;
+        for (int line = 0; line < 4; line++) {
+            int write = -1;
+            int lastExp = 0;
+            boolean lastMerged = true;
+            for (int i = 0; i < 4; i++) {
+                int cell = lineCell(dir, line, i);
+                int exp = (int) ((before >>> (cell << 2)) & 0xF);
+                if (exp == 0) continue;
+                int dest;
+                if (!lastMerged && exp == lastExp && exp < BitBoard.MAX_EXPONENT) {
+                    dest = lineCell(dir, line, write);
+                    lastMerged = true;
+                    merged |= 1 << count;
+                    mask |= 1 << dest;
+                } else {
+                    write++;
+                    dest = lineCell(dir, line, write);
+                    lastExp = exp;
+                    lastMerged = false;
+                }
+                from[count] = (byte) cell;
+                to[count] = (byte) dest;
+                exponent[count] = (byte) exp;
+                count++;
+            }
+        }
+        tileCount = count;
+        mergedTiles = merged;
+        mergeMask = mask;
+    }
+
+    // Celda de la posición i (0 = la más cercana al borde hacia el que se mueve) de la línea dada
+    private static int lineCell(Direction dir, int line, int i) {
+        switch (dir) {
+            case LEFT: return line * 4 + i;
+            case RIGHT: return line * 4 + 3 - i;
+            case UP: return i * 4 + line;
+            default: return (3 - i) * 4 + line;
+        }
+    }
+
+    public Direction getDirection() { return direction; }
+
+    public long getBoardBefore() { return boardBefore; }
+
+    // Tablero tras desplazar y fusionar, antes de la ficha nueva
+    public long getBoardMoved() { return boardMoved; }
+
+    public long getBoardAfter() { return boardAfter; }
+
+    public int getScoreDelta() { return scoreDelta; }
+
+    public int getTileCount() { return tileCount; }
+
+    public int getFrom(int i) { return from[i]; }
+
+    public int getTo(int i) { return to[i]; }
+
+    // Exponente de la ficha antes del movimiento
+    public int getExponent(int i) { return exponent[i]; }
+
+    public boolean isMerged(int i) { return (mergedTiles & (1 << i)) != 0; }
+
+    public int getMergeCount() { return Integer.bitCount(mergedTiles); }
+
+    // Bit por celda de destino donde se produjo una fusión
+    public int getMergeMask() { return mergeMask; }
+
+    // -1 si no apareció ficha (tablero lleno tras el movimiento)
+    public int getSpawnCell() { return spawnCell; }
+
+    public int getSpawnExponent() { return spawnExponent; }
+}
@@ -0,0 +1,120 @@
+package com.example.a2048game.logic;
+
+import com.example.a2048game.model.BitBoard;
+
+/**
+ * Tablas precalculadas para las 65536 filas posibles de 16 bits (4 nibbles).
+ * Un movimiento completo son 4 consultas por fila más dos transposiciones para UP/DOWN,
+ * sin reservar memoria.
+ *
+ * Mismas reglas, puntuación y ficha máxima fusionada que el antiguo GameManager.mergeLine salvo
+ * en un caso: dos 32768 (exponente 15) no se fusionan, porque 65536 no cabe en el nibble de
+ * BitBoard. La fila se queda como está, no suma puntos y BitBoard.isGameOver lo tiene en cuenta.
+ */
+public final class MoveTables {
+
+    private static final int ROWS = 1 << 16;
+
+    private static final char[] ROW_LEFT = new char[ROWS];
+    private static final char[] ROW_RIGHT = new char[ROWS];
+    // La puntuación y la ficha máxima fusionada solo dependen de las rachas de valores iguales,
+    // por eso son las mismas hacia la izquierda y hacia la derecha
+    private static final int[] ROW_SCORE = new int[ROWS];
+    private static final byte[] ROW_MAX_MERGED = new byte[ROWS];
+
+    static {
+        int[] line = new int[4];
+        for (int row = 0; row < ROWS; row++) {
+            for (int i = 0; i < 4; i++) line[i] = (row >>> (i << 2)) & 0xF;
+            int score = 0;
+            int maxMerged = 0;
+            int out = 0;
+            int n = 0;
+            int i = 0;
+            while (i < 4) {
+                if (line[i] == 0) { i++; continue; }
+                int j = i + 1;
+                while (j < 4 && line[j] == 0) j++;
+                // 32768 + 32768 no cabe en un nibble: esas fichas no se fusionan
+                if (j < 4 && line[j] == line[i] && line[i] < BitBoard.MAX_EXPONENT) {
+                    int e = line[i] + 1;
+                    out |= e << (n << 2);
+                    score += 1 << e;
+                    if (e > maxMerged) maxMerged = e;
+                    i = j + 1;
+                } else {
+                    out |= line[i] << (n << 2);
+                    i = j;
+                }
+                n++;
+            }
+            ROW_LEFT[row] = (char) out;
+            ROW_SCORE[row] = score;
+            ROW_MAX_MERGED[row] = (byte) maxMerged;
+        }
+        for (int row = 0; row < ROWS; row++) {
+            ROW_RIGHT[row] = (char) reverseRow(ROW_LEFT[reverseRow(row)]);
+        }
+    }
+
+    private MoveTables() {}
+
+    private static int reverseRow(int row) {
+        return ((row >>> 12) & 0xF) | ((row >>> 4) & 0xF0) | ((row << 4) & 0xF00) | ((row << 12) & 0xF000);
+    }
+
+    private static long applyRows(long b, char[] table) {
+        return (long) table[(int) (b & 0xFFFF)]
+                | (long) table[(int) ((b >>> 16) & 0xFFFF)] << 16
+                | (long) table[(int) ((b >>> 32) & 0xFFFF)] << 32
+                | (long) table[(int) (b >>> 48)] << 48;
+    }
+
+    private static long alongRows(long board, Direction dir) {
+        return (dir == Direction.UP || dir == Direction.DOWN) ? BitBoard.transpose(board) : board;
+    }
+
+    public static long move(long board, Direction dir) {
+        switch (dir) {
+            case LEFT: return applyRows(board, ROW_LEFT);
+            case RIGHT: return applyRows(board, ROW_RIGHT);
+            case UP: return BitBoard.transpose(applyRows(BitBoard.transpose(board), ROW_LEFT));
+            case DOWN: return BitBoard.transpose(applyRows(BitBoard.transpose(board), ROW_RIGHT));
+            default: return board;
+        }
+    }
+
+    // Puntos ganados al mover 'board' en la dirección dada
+    public static int scoreGain(long board, Direction dir) {
+        long b = alongRows(board, dir);
+        return ROW_SCORE[(int) (b & 0xFFFF)]
+                + ROW_SCORE[(int) ((b >>> 16) & 0xFFFF)]
+                + ROW_SCORE[(int) ((b >>> 32) & 0xFFFF)]
+                + ROW_SCORE[(int) (b >>> 48)];
+    }
+
+    // Exponente de la mayor ficha creada por una fusión (0 si no hay fusiones)
+    public static int maxMergedExponent(long board, Direction dir) {
+        long b = alongRows(board, dir);
+        int m = Math.max(ROW_MAX_MERGED[(int) (b & 0xFFFF)], ROW_MAX_MERGED[(int) ((b >>> 16) & 0xFFFF)]);
+        m = Math.max(m, ROW_MAX_MERGED[(int) ((b >>> 32) & 0xFFFF)]);
+        return Math.max(m, ROW_MAX_MERGED[(int) (b >>> 48)]);
+    }
+
+    // Equivale a que algún movimiento cambie el tablero, sin consultar las tablas
+    public static boolean canMove(long board) {
+        return !BitBoard.isGameOver(board);
+    }
+
+    public static int rowLeft(int row) {
+        return ROW_LEFT[row & 0xFFFF];
+    }
+
+    public static int rowRight(int row) {
+        return ROW_RIGHT[row & 0xFFFF];
+    }
+
+    public static int rowScore(int row) {
+        return ROW_SCORE[row & 0xFFFF];
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.a2048game.logic;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Registro compacto de una partida: la semilla más 2 bits por movimiento (ordinal de Direction).
+ * Formato binario (big-endian):
+ *   "R48" + versión (1 byte), semilla (8), número de movimientos (4), movimientos (ceil(n / 4) bytes)
+ * Una partida de 10.000 movimientos ocupa unos 2,5 KB.
+ */
+public class ReplayLog {
+
+    private static final int MAGIC = ('R' << 24) | ('4' << 16) | ('8' << 8);
+    private static final int VERSION = 1;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    // Lo que admite append(); también el máximo que acepta readFrom()
+    public static final int MAX_MOVES = Integer.MAX_VALUE;
+    // readFrom() reserva memoria según llegan los datos, no según la longitud declarada
+    private static final int READ_CHUNK = 1 << 16;
+
+    private final long seed;
+    private byte[] data;
+    private int length;
+
+    public ReplayLog(long seed) {
+        this(seed, new byte[64], 0);
+    }
+
+    private ReplayLog(long seed, byte[] data, int length) {
+        this.seed = seed;
+        this.data = data;
+        this.length = length;
+    }
+
+    public long getSeed() { return seed; }
+
+    public int size() { return length; }
+
+    public void append(Direction dir) {
+        if (length == MAX_MOVES) throw new IllegalStateException("Registro lleno: " + length + " movimientos");
+        int byteIndex = length >>> 2;
+        if (byteIndex >= data.length) data = Arrays.copyOf(data, Math.min(data.length * 2, (Integer.MAX_VALUE >>> 2) + 1));
+        int shift = (length & 3) << 1;
+        data[byteIndex] = (byte) ((data[byteIndex] & ~(3 << shift)) | (dir.ordinal() << shift));
+        length++;
+    }
+
+    /**
+     * Ajusta la longitud tras deshacer/rehacer. Los movimientos por encima de la longitud se
+     * conservan hasta que se sobrescriben, así que rehacer solo vuelve a ampliarla.
+     */
+    public void setLength(int newLength) {
+        if (newLength < 0 || newLength > data.length * 4L) throw new IllegalArgumentException("Longitud no válida: " + newLength);
+        length = newLength;
+    }
+
+    public Direction get(int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException("index " + index + ", size " + length);
+        return DIRECTIONS[(data[index >>> 2] >>> ((index & 3) << 1)) & 3];
+    }
+
+    // Estado final de una partida reconstruida
+    public static final class State {
+        public final long board;
+        public final int score;
+        public final int moves;
+        public final long rngState;
+
+        State(long board, int score, int moves, long rngState) {
+            this.board = board;
+            this.score = score;
+            this.moves = moves;
+            this.rngState = rngState;
+        }
+    }
+
+    public State replay() {
+        return replay(length);
+    }
+
+    // Reconstruye la partida con las reglas de GameManager sobre el tablero empaquetado
+    public State replay(int moveCount) {
+        if (moveCount > length) throw new IllegalArgumentException("El registro solo tiene " + length + " movimientos");
+        GameRandom random = new GameRandom(seed);
+        long board = GameManager.spawnRandomTile(GameManager.spawnRandomTile(0L, random), random);
+        int score = 0;
+        for (int i = 0; i < moveCount; i++) {
+            Direction dir = DIRECTIONS[(data[i >>> 2] >>> ((i & 3) << 1)) & 3];
+            long after = MoveTables.move(board, dir);
+            if (after == board) throw new IllegalStateException("Movimiento " + i + " (" + dir + ") no cambia el tablero: registro no válido");
+            score += MoveTables.scoreGain(board, dir);
+            board = GameManager.spawnRandomTile(after, random);
+        }
+        return new State(board, score, moveCount, random.getState());
+    }
+
+    public void writeTo(OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(MAGIC | VERSION);
+        out.writeLong(seed);
+        out.writeInt(length);
+        out.write(data, 0, bytesFor(length));
+        out.flush();
+    }
+
+    public static ReplayLog readFrom(InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(is);
+        int header = in.readInt();
+        if ((header & 0xFFFFFF00) != MAGIC) throw new IOException("No es un registro de partida");
+        if ((header & 0xFF) != VERSION) throw new IOException("Versión de registro no soportada: " + (header & 0xFF));
+        long seed = in.readLong();
+        int length = in.readInt();
+        if (length < 0 || length > MAX_MOVES) throw new IOException("Longitud no válida: " + length);
+        int bytes = bytesFor(length);
+        // un archivo truncado o con una longitud absurda falla en readFully antes de reservarla entera
+        byte[] data = new byte[Math.max(16, Math.min(bytes, READ_CHUNK))];
+        int read = 0;
+        while (read < bytes) {
+            if (read == data.length) data = Arrays.copyOf(data, (int) Math.min(bytes, 2L * data.length));
+            int n = Math.min(bytes, data.length) - read;
+            in.readFully(data, read, n);
+            read += n;
+        }
+        return new ReplayLog(seed, data, length);
+    }
+
+    private static int bytesFor(int moves) {
+        return (int) ((moves + 3L) >>> 2);
+    }
+
+    public int encodedSize() {
+        return 16 + bytesFor(length);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.a2048game.logic.ai;
+
+// Valora un tablero empaquetado (ver BitBoard); mayor es mejor
+public interface BoardEvaluator {
+    float evaluate(long board);
+}
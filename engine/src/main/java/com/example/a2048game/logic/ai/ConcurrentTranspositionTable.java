@@ -0,0 +1,99 @@
+package com.example.a2048game.logic.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tabla de transposición compartida entre hilos, sin bloqueos.
+ * Cada ranura son dos longs: (clave ^ datos) y datos. Si otro hilo escribe a la vez,
+ * la comprobación con XOR falla y la lectura se trata como un fallo de caché.
+ * Datos: bits 0-31 valor float, 32-39 profundidad + 1, 40-47 generación.
+ * Misma política de reemplazo y de vuelta de la generación que TranspositionTable.
+ */
+public class ConcurrentTranspositionTable implements SearchCache {
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final int shift;
+    private volatile int generation = 0;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ConcurrentTranspositionTable(int sizeLog2) {
+        if (sizeLog2 < 1 || sizeLog2 > 27) throw new IllegalArgumentException("sizeLog2 fuera de rango: " + sizeLog2);
+        int size = 1 << sizeLog2;
+        slots = new AtomicLongArray(size * 2);
+        mask = size - 1;
+        shift = 64 - sizeLog2;
+    }
+
+    private int index(long key) {
+        return ((int) ((key * 0x9E3779B97F4A7C15L) >>> shift) & mask) << 1;
+    }
+
+    private static int depthOf(long data) {
+        return (int) ((data >>> 32) & 0xFF);
+    }
+
+    private static int generationOf(long data) {
+        return (int) ((data >>> 40) & 0xFF);
+    }
+
+    // Entre búsquedas: al dar la vuelta reescribe las ranuras sin competir con put()
+    @Override
+    public void newSearch() {
+        int next = (generation + 1) & 0xFF;
+        if (next == 0) {
+            for (int i = 0; i < slots.length(); i += 2) {
+                long data = slots.get(i + 1);
+                if (depthOf(data) == 0) continue;
+                long aged = data & ~(0xFFL << 40);
+                slots.set(i, slots.get(i) ^ data ^ aged);
+                slots.set(i + 1, aged);
+            }
+            next = 1;
+        }
+        generation = next;
+    }
+
+    @Override
+    public float get(long key, int depth) {
+        int i = index(key);
+        long data = slots.get(i + 1);
+        long check = slots.get(i);
+        int stored = depthOf(data);
+        if (stored != 0 && (check ^ data) == key && stored - 1 >= depth) {
+            hits.increment();
+            return Float.intBitsToFloat((int) data);
+        }
+        misses.increment();
+        return Float.NaN;
+    }
+
+    @Override
+    public void put(long key, int depth, float value) {
+        int i = index(key);
+        int gen = generation;
+        long old = slots.get(i + 1);
+        int oldDepth = depthOf(old);
+        if (oldDepth != 0 && (slots.get(i) ^ old) != key
+                && generationOf(old) == gen && oldDepth - 1 > depth) return;
+        long data = (Float.floatToRawIntBits(value) & 0xFFFFFFFFL)
+                | ((long) ((depth + 1) & 0xFF) << 32)
+                | ((long) gen << 40);
+        slots.set(i, key ^ data);
+        slots.set(i + 1, data);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) slots.set(i, 0L);
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override public int capacity() { return slots.length() / 2; }
+    @Override public long getHits() { return hits.sum(); }
+    @Override public long getMisses() { return misses.sum(); }
+}
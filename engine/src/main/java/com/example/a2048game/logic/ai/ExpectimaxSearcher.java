@@ -0,0 +1,125 @@
+package com.example.a2048game.logic.ai;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.GameManager;
+import com.example.a2048game.logic.MoveTables;
+
+/**
+ * Expectimax con profundidad limitada sobre el tablero empaquetado.
+ * Los nodos max recorren las 4 direcciones; los nodos de azar recorren cada casilla vacía
+ * con un 2 (90%) o un 4 (10%), igual que GameManager.spawnRandomTile.
+ * Las ramas de azar cuya probabilidad acumulada cae bajo el umbral se valoran directamente.
+ * No es thread-safe: usar una instancia por hilo.
+ */
+public class ExpectimaxSearcher {
+
+    public static final float DEFAULT_PROBABILITY_THRESHOLD = 0.0001f;
+    public static final int DEFAULT_TABLE_SIZE_LOG2 = 18;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    // cada cuántos nodos se consulta la cancelación (potencia de dos menos uno)
+    private static final long CANCEL_CHECK_MASK = 0x3FF;
+
+    // Consultada desde dentro de la búsqueda; si devuelve true, search() aborta y devuelve null
+    public interface Cancellation {
+        boolean isCancelled();
+    }
+
+    // Sin traza: se lanza y se captura dentro de search()
+    private static final class SearchCancelledException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        static final SearchCancelledException INSTANCE = new SearchCancelledException();
+
+        private SearchCancelledException() {
+            super("búsqueda cancelada", null, false, false);
+        }
+    }
+
+    private final BoardEvaluator evaluator;
+    private final SearchCache table;
+    private float probabilityThreshold = DEFAULT_PROBABILITY_THRESHOLD;
+    private long nodes;
+    private Cancellation cancellation;
+
+    public ExpectimaxSearcher() {
+        this(new HeuristicEvaluator(), new TranspositionTable(DEFAULT_TABLE_SIZE_LOG2));
+    }
+
+    public ExpectimaxSearcher(BoardEvaluator evaluator, SearchCache table) {
+        this.evaluator = evaluator;
+        this.table = table;
+    }
+
+    public void setProbabilityThreshold(float threshold) { this.probabilityThreshold = threshold; }
+
+    public SearchCache getTable() { return table; }
+
+    public void setCancellation(Cancellation cancellation) { this.cancellation = cancellation; }
+
+    public SearchResult search(GameManager gm, int depth) {
+        return search(gm.getBoard().getPacked(), depth);
+    }
+
+    // null si la Cancellation la interrumpió (lo que ya está en la caché sigue siendo válido)
+    public SearchResult search(long board, int depth) {
+        if (depth < 1) throw new IllegalArgumentException("depth debe ser >= 1");
+        long start = System.nanoTime();
+        nodes = 0;
+        table.newSearch();
+        Direction best = null;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        try {
+            for (Direction dir : DIRECTIONS) {
+                long next = MoveTables.move(board, dir);
+                if (next == board) continue;
+                float v = chanceNode(next, depth - 1, 1f);
+                if (v > bestScore) {
+                    bestScore = v;
+                    best = dir;
+                }
+            }
+        } catch (SearchCancelledException e) {
+            return null;
+        }
+        return new SearchResult(best, best == null ? 0f : bestScore, depth, nodes, System.nanoTime() - start);
+    }
+
+    long getNodes() { return nodes; }
+
+    // Usado por ParallelExpectimaxSearcher: cada tarea evalúa su subárbol con su propio contador
+    float maxNode(long board, int depth, float prob) {
+        if ((nodes++ & CANCEL_CHECK_MASK) == 0 && cancellation != null && cancellation.isCancelled()) {
+            throw SearchCancelledException.INSTANCE;
+        }
+        float best = 0f; // sin movimientos posibles: partida perdida
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            long next = MoveTables.move(board, DIRECTIONS[d]);
+            if (next == board) continue;
+            float v = chanceNode(next, depth - 1, prob);
+            if (v > best) best = v;
+        }
+        return best;
+    }
+
+    float chanceNode(long board, int depth, float prob) {
+        nodes++;
+        if (depth <= 0 || prob < probabilityThreshold) return evaluator.evaluate(board);
+        float cached = table.get(board, depth);
+        if (cached == cached) return cached; // no es NaN
+        int empty = 0;
+        for (int i = 0; i < 16; i++) if (((board >>> (i << 2)) & 0xF) == 0) empty++;
+        if (empty == 0) return maxNode(board, depth, prob);
+        float cellProb = prob / empty;
+        float sum = 0f;
+        for (int i = 0; i < 16; i++) {
+            int s = i << 2;
+            if (((board >>> s) & 0xF) != 0) continue;
+            sum += 0.9f * maxNode(board | (1L << s), depth, cellProb * 0.9f);
+            sum += 0.1f * maxNode(board | (2L << s), depth, cellProb * 0.1f);
+        }
+        float v = sum / empty;
+        table.put(board, depth, v);
+        return v;
+    }
+}
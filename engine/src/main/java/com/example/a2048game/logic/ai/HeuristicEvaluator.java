@@ -0,0 +1,73 @@
+package com.example.a2048game.logic.ai;
+
+import com.example.a2048game.model.BitBoard;
+
+/**
+ * Heurística clásica por filas: casillas vacías, fusiones posibles, monotonía y suma de fichas.
+ * Se precalcula para las 65536 filas y se aplica a las 4 filas y las 4 columnas.
+ */
+public class HeuristicEvaluator implements BoardEvaluator {
+
+    private static final float LOST_PENALTY = 200000f;
+    private static final float MONOTONICITY_POWER = 4f;
+    private static final float MONOTONICITY_WEIGHT = 47f;
+    private static final float SUM_POWER = 3.5f;
+    private static final float SUM_WEIGHT = 11f;
+    private static final float MERGES_WEIGHT = 700f;
+    private static final float EMPTY_WEIGHT = 270f;
+
+    private static final float[] ROW_HEURISTIC = new float[1 << 16];
+
+    static {
+        int[] line = new int[4];
+        for (int row = 0; row < 1 << 16; row++) {
+            for (int i = 0; i < 4; i++) line[i] = (row >>> (i << 2)) & 0xF;
+            float sum = 0;
+            int empty = 0;
+            int merges = 0;
+            int prev = 0;
+            int counter = 0;
+            for (int i = 0; i < 4; i++) {
+                int rank = line[i];
+                sum += (float) Math.pow(rank, SUM_POWER);
+                if (rank == 0) {
+                    empty++;
+                } else {
+                    if (prev == rank) {
+                        counter++;
+                    } else if (counter > 0) {
+                        merges += 1 + counter;
+                        counter = 0;
+                    }
+                    prev = rank;
+                }
+            }
+            if (counter > 0) merges += 1 + counter;
+            float monoLeft = 0;
+            float monoRight = 0;
+            for (int i = 1; i < 4; i++) {
+                float a = (float) Math.pow(line[i - 1], MONOTONICITY_POWER);
+                float b = (float) Math.pow(line[i], MONOTONICITY_POWER);
+                if (line[i - 1] > line[i]) monoLeft += a - b;
+                else monoRight += b - a;
+            }
+            ROW_HEURISTIC[row] = LOST_PENALTY
+                    + EMPTY_WEIGHT * empty
+                    + MERGES_WEIGHT * merges
+                    - MONOTONICITY_WEIGHT * Math.min(monoLeft, monoRight)
+                    - SUM_WEIGHT * sum;
+        }
+    }
+
+    private static float rows(long b) {
+        return ROW_HEURISTIC[(int) (b & 0xFFFF)]
+                + ROW_HEURISTIC[(int) ((b >>> 16) & 0xFFFF)]
+                + ROW_HEURISTIC[(int) ((b >>> 32) & 0xFFFF)]
+                + ROW_HEURISTIC[(int) (b >>> 48)];
+    }
+
+    @Override
+    public float evaluate(long board) {
+        return rows(board) + rows(BitBoard.transpose(board));
+    }
+}
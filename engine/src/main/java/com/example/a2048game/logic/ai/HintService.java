@@ -0,0 +1,103 @@
+package com.example.a2048game.logic.ai;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pistas de mejor movimiento en un hilo de fondo: profundización iterativa (1, 2, 3...)
+ * con un presupuesto de tiempo, publicando el resultado de cada profundidad al terminarla.
+ * Cada petición o cancel() avanza una generación; la búsqueda en curso la consulta cada
+ * pocos nodos y se aborta en cuanto deja de ser la actual o se acaba el tiempo, y los
+ * resultados de generaciones viejas nunca llegan al listener. Quien llama nunca espera.
+ */
+public final class HintService {
+
+    public interface Listener {
+        // finished: es el último resultado de esta petición
+        void onHint(long board, SearchResult result, boolean finished);
+    }
+
+    public static final int MAX_DEPTH = 8;
+    public static final long DEFAULT_CACHE_BYTES = 8L << 20;
+    // crecimiento típico del tiempo de búsqueda al subir un nivel, si aún no hay medida
+    private static final long DEFAULT_GROWTH = 8;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "hint-search");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+    private final Executor callbackExecutor;
+    // solo se usa desde el hilo de búsqueda
+    private final ExpectimaxSearcher searcher;
+    private final AtomicLong generation = new AtomicLong();
+
+    public HintService(Executor callbackExecutor) {
+        this(callbackExecutor, new ExpectimaxSearcher(new HeuristicEvaluator(), new SymmetricPositionCache(DEFAULT_CACHE_BYTES)));
+    }
+
+    public HintService(Executor callbackExecutor, ExpectimaxSearcher searcher) {
+        this.callbackExecutor = callbackExecutor;
+        this.searcher = searcher;
+    }
+
+    // Sustituye cualquier petición anterior; devuelve su generación
+    public long request(final long board, long budgetMillis, final Listener listener) {
+        final long gen = generation.incrementAndGet();
+        final long budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        executor.execute(() -> run(gen, board, budgetNanos, listener));
+        return gen;
+    }
+
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    public boolean isCurrent(long gen) {
+        return generation.get() == gen;
+    }
+
+    private void run(final long gen, long board, long budgetNanos, Listener listener) {
+        if (generation.get() != gen) return; // otra petición o cancel() antes de empezar
+        long start = System.nanoTime();
+        final long deadline = start + budgetNanos;
+        searcher.setCancellation(() -> generation.get() != gen || System.nanoTime() - deadline > 0);
+        SearchResult last = null;
+        boolean finished = false;
+        long previousElapsed = 0;
+        try {
+            for (int depth = 1; depth <= MAX_DEPTH && !finished; depth++) {
+                SearchResult r = searcher.search(board, depth);
+                if (r == null) break;
+                last = r;
+                // si el siguiente nivel no cabe en lo que queda, este es el último
+                long growth = previousElapsed > 0 ? Math.max(2, r.elapsedNanos / previousElapsed) : DEFAULT_GROWTH;
+                previousElapsed = Math.max(1, r.elapsedNanos);
+                long remaining = deadline - System.nanoTime();
+                finished = depth == MAX_DEPTH || r.bestMove == null || r.elapsedNanos * growth > remaining;
+                deliver(gen, board, r, finished, listener);
+            }
+        } finally {
+            searcher.setCancellation(null);
+        }
+        // sin tiempo a mitad de un nivel: el último completo pasa a ser el definitivo
+        if (!finished && last != null) deliver(gen, board, last, true, listener);
+    }
+
+    private void deliver(final long gen, final long board, final SearchResult result, final boolean finished,
+                         final Listener listener) {
+        if (generation.get() != gen) return;
+        callbackExecutor.execute(() -> {
+            if (generation.get() == gen) listener.onHint(board, result, finished);
+        });
+    }
+
+    public void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+}
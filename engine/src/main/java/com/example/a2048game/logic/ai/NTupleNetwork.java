@@ -0,0 +1,311 @@
+package com.example.a2048game.logic.ai;
+
+import com.example.a2048game.model.BoardSymmetry;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Evaluador aprendido: red n-tupla de patrones de filas, columnas y cuadrados sobre el tablero
+ * empaquetado. Cada tupla tiene una tabla de 16^n pesos indexada por los exponentes de sus casillas,
+ * y se aplica en las 8 simetrías (así el valor es simétrico y vale con SymmetricPositionCache).
+ * El tamaño crece 16 veces por casilla: MEDIUM_TUPLES ocupa unos 16 MB, STANDARD_TUPLES 256 MB
+ * (juega mejor, pero no cabe en el presupuesto de un móvil) y SMALL_TUPLES 1,25 MB para pruebas.
+ *
+ * Los pesos no se copian al heap: el archivo se mapea en memoria y se leen por índice, sin
+ * asignaciones. Formato (little-endian):
+ *   magic "NTUP" (4), versión (4), número de tuplas (4), partidas de entrenamiento (8),
+ *   por tupla: longitud n (4) y sus n casillas (4 cada una, r * 4 + c),
+ *   y a continuación las tablas de float de cada tupla, en el mismo orden.
+ * La versión 1 no tenía el campo de partidas; se sigue leyendo (con 0 partidas) y save() escribe
+ * siempre la actual.
+ *
+ * update() escribe sin sincronizar (estilo Hogwild): varios hilos pueden entrenar a la vez y
+ * alguna suma concurrente sobre el mismo peso se pierde, cosa que el aprendizaje TD tolera.
+ */
+public final class NTupleNetwork implements BoardEvaluator {
+
+    static final int MAGIC = ('N' << 24) | ('T' << 16) | ('U' << 8) | 'P';
+    static final int VERSION = 2;
+    private static final int VERSION_NO_GAMES = 1;
+    public static final int MAX_TUPLE_LENGTH = 6;
+
+    // 4 tuplas de 6 casillas (dos rectas de 2 filas y dos en L/cuadrado): 4 x 16M pesos, 256 MB
+    public static final int[][] STANDARD_TUPLES = {
+            {0, 1, 2, 3, 4, 5},
+            {4, 5, 6, 7, 8, 9},
+            {0, 1, 2, 4, 5, 6},
+            {4, 5, 6, 8, 9, 10},
+    };
+
+    // Las mismas formas sin la última casilla más el cuadrado central: 4 x 1M + 64K pesos, 16,3 MB
+    public static final int[][] MEDIUM_TUPLES = {
+            {0, 1, 2, 3, 4},
+            {4, 5, 6, 7, 8},
+            {0, 1, 2, 4, 5},
+            {4, 5, 6, 8, 9},
+            {5, 6, 9, 10},
+    };
+
+    // Filas exterior e interior y los tres cuadrados 2x2 distintos: 5 x 64K pesos, 1,25 MB
+    public static final int[][] SMALL_TUPLES = {
+            {0, 1, 2, 3},
+            {4, 5, 6, 7},
+            {0, 1, 4, 5},
+            {1, 2, 5, 6},
+            {5, 6, 9, 10},
+    };
+
+    private final int[][] tuples;
+    // desplazamientos en bits de las casillas de cada (tupla, simetría), todo seguido
+    private final int[] shifts;
+    // shifts[featureStart[f]..featureStart[f + 1]) son las casillas de la característica f
+    private final int[] featureStart;
+    // primer peso de la tabla de cada característica (las 8 simetrías comparten tabla)
+    private final int[] tableOffset;
+    private final MappedByteBuffer mapped;
+    // pesos en bytes, sin cabecera
+    private final ByteBuffer body;
+    private final FloatBuffer weights;
+    private final long trainedGames;
+
+    private NTupleNetwork(int[][] tuples, MappedByteBuffer mapped, int headerBytes, long trainedGames) {
+        this.tuples = tuples;
+        this.mapped = mapped;
+        this.trainedGames = trainedGames;
+        mapped.position(headerBytes);
+        body = mapped.slice();
+        body.order(ByteOrder.LITTLE_ENDIAN);
+        this.weights = body.asFloatBuffer();
+
+        int features = tuples.length * BoardSymmetry.COUNT;
+        int cells = 0;
+        for (int[] t : tuples) cells += t.length * BoardSymmetry.COUNT;
+        shifts = new int[cells];
+        featureStart = new int[features + 1];
+        tableOffset = new int[features];
+        int f = 0;
+        int k = 0;
+        int offset = 0;
+        for (int[] t : tuples) {
+            for (int sym = 0; sym < BoardSymmetry.COUNT; sym++) {
+                featureStart[f] = k;
+                tableOffset[f] = offset;
+                for (int cell : t) shifts[k++] = imageOf(cell, sym) << 2;
+                f++;
+            }
+            offset += 1 << (t.length << 2);
+        }
+        featureStart[f] = k;
+    }
+
+    // Casilla a la que lleva la simetría sym a la casilla cell
+    private static int imageOf(int cell, int sym) {
+        return Long.numberOfTrailingZeros(BoardSymmetry.transform(1L << (cell << 2), sym)) >>> 2;
+    }
+
+    // Abre un archivo de pesos en solo lectura
+    public static NTupleNetwork open(File file) throws IOException {
+        return map(file, false);
+    }
+
+    // Abre un archivo existente en lectura/escritura para seguir entrenándolo
+    public static NTupleNetwork openForTraining(File file) throws IOException {
+        return map(file, true);
+    }
+
+    /**
+     * Crea (o sobrescribe) un archivo con esas tuplas y todos los pesos a 0, mapeado en
+     * lectura/escritura para entrenar sobre él.
+     */
+    public static NTupleNetwork create(File file, int[][] tuples) throws IOException {
+        int[][] copy = checkTuples(tuples);
+        long length = headerBytes(copy) + weightCount(copy) * 4L;
+        ByteBuffer buf = header(copy, 0);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(0);
+            raf.setLength(length);
+            FileChannel ch = raf.getChannel();
+            while (buf.hasRemaining()) ch.write(buf, buf.position());
+        }
+        return map(file, true);
+    }
+
+    private static NTupleNetwork map(File file, boolean writable) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, writable ? "rw" : "r")) {
+            long length = raf.length();
+            if (length < 12 || length > Integer.MAX_VALUE) throw invalid(file, "tamaño " + length);
+            // el mapeo sigue siendo válido después de cerrar el canal
+            MappedByteBuffer mapped = raf.getChannel().map(
+                    writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, length);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            int version = mapped.getInt(4);
+            if (mapped.getInt(0) != MAGIC || (version != VERSION && version != VERSION_NO_GAMES)) {
+                throw invalid(file, "cabecera");
+            }
+            int count = mapped.getInt(8);
+            if (count <= 0 || count > 64) throw invalid(file, "número de tuplas " + count);
+            int pos = 12;
+            long trainedGames = 0;
+            if (version == VERSION) {
+                if (length < 20) throw invalid(file, "cabecera truncada");
+                trainedGames = mapped.getLong(12);
+                if (trainedGames < 0) throw invalid(file, "partidas " + trainedGames);
+                pos = 20;
+            }
+            int[][] tuples = new int[count][];
+            for (int i = 0; i < count; i++) {
+                if (pos + 4 > length) throw invalid(file, "cabecera truncada");
+                int n = mapped.getInt(pos);
+                if (n <= 0 || n > MAX_TUPLE_LENGTH || pos + 4 + 4L * n > length) throw invalid(file, "tupla " + i);
+                tuples[i] = new int[n];
+                for (int j = 0; j < n; j++) tuples[i][j] = mapped.getInt(pos + 4 + 4 * j);
+                pos += 4 + 4 * n;
+            }
+            try {
+                checkTuples(tuples);
+            } catch (IllegalArgumentException e) {
+                throw invalid(file, e.getMessage());
+            }
+            if (length != pos + weightCount(tuples) * 4L) throw invalid(file, "tamaño " + length);
+            return new NTupleNetwork(tuples, mapped, pos, trainedGames);
+        }
+    }
+
+    private static IOException invalid(File file, String what) {
+        return new IOException("Archivo de pesos no válido (" + what + "): " + file);
+    }
+
+    private static int[][] checkTuples(int[][] tuples) {
+        if (tuples.length == 0) throw new IllegalArgumentException("Sin tuplas");
+        int[][] copy = new int[tuples.length][];
+        for (int i = 0; i < tuples.length; i++) {
+            int[] t = tuples[i];
+            if (t.length == 0 || t.length > MAX_TUPLE_LENGTH) {
+                throw new IllegalArgumentException("Longitud de tupla no válida: " + t.length);
+            }
+            int seen = 0;
+            for (int cell : t) {
+                if (cell < 0 || cell >= 16 || (seen & (1 << cell)) != 0) {
+                    throw new IllegalArgumentException("Casillas no válidas: " + Arrays.toString(t));
+                }
+                seen |= 1 << cell;
+            }
+            copy[i] = t.clone();
+        }
+        return copy;
+    }
+
+    // Cabecera de la versión actual, lista para escribir
+    private static ByteBuffer header(int[][] tuples, long trainedGames) {
+        ByteBuffer buf = ByteBuffer.allocate(headerBytes(tuples)).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC);
+        buf.putInt(VERSION);
+        buf.putInt(tuples.length);
+        buf.putLong(trainedGames);
+        for (int[] t : tuples) {
+            buf.putInt(t.length);
+            for (int cell : t) buf.putInt(cell);
+        }
+        buf.flip();
+        return buf;
+    }
+
+    static int headerBytes(int[][] tuples) {
+        int bytes = 20;
+        for (int[] t : tuples) bytes += 4 + 4 * t.length;
+        return bytes;
+    }
+
+    static long weightCount(int[][] tuples) {
+        long n = 0;
+        for (int[] t : tuples) n += 1L << (t.length << 2);
+        return n;
+    }
+
+    @Override
+    public float evaluate(long board) {
+        float sum = 0;
+        int k = 0;
+        for (int f = 0; f < tableOffset.length; f++) {
+            int end = featureStart[f + 1];
+            int index = 0;
+            for (; k < end; k++) index = (index << 4) | (int) ((board >>> shifts[k]) & 0xF);
+            sum += weights.get(tableOffset[f] + index);
+        }
+        return sum;
+    }
+
+    // Suma delta a los pesos de todas las características del tablero (una vez por aparición)
+    public void update(long board, float delta) {
+        int k = 0;
+        for (int f = 0; f < tableOffset.length; f++) {
+            int end = featureStart[f + 1];
+            int index = 0;
+            for (; k < end; k++) index = (index << 4) | (int) ((board >>> shifts[k]) & 0xF);
+            int i = tableOffset[f] + index;
+            weights.put(i, weights.get(i) + delta);
+        }
+    }
+
+    // Como save(file, trainedGames) conservando las partidas con que se abrió
+    public void save(File file) throws IOException {
+        save(file, trainedGames);
+    }
+
+    /**
+     * Copia cabecera y pesos a file de forma atómica (archivo temporal + rename), sin parar a
+     * quien esté entrenando: cada float se copia entero, pero la copia puede mezclar pesos de
+     * antes y después de updates concurrentes. trainedGames queda en la cabecera de la copia;
+     * el archivo mapeado no cambia. No llamar a la vez para el mismo file.
+     */
+    public void save(File file, long trainedGames) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        ByteBuffer head = header(tuples, trainedGames);
+        ByteBuffer weightBytes = body.duplicate();
+        weightBytes.clear();
+        try (RandomAccessFile raf = new RandomAccessFile(tmp, "rw")) {
+            raf.setLength(0);
+            FileChannel ch = raf.getChannel();
+            while (head.hasRemaining()) ch.write(head);
+            while (weightBytes.hasRemaining()) ch.write(weightBytes);
+            ch.force(true);
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Número de características: tuplas x simetrías
+    public int getFeatureCount() {
+        return tableOffset.length;
+    }
+
+    public int getTupleCount() {
+        return tuples.length;
+    }
+
+    public int[] getTuple(int i) {
+        return tuples[i].clone();
+    }
+
+    public long getWeightCount() {
+        return weightCount(tuples);
+    }
+
+    // Partidas de entrenamiento que guardaba el archivo al abrirlo (0 en uno nuevo)
+    public long getTrainedGames() {
+        return trainedGames;
+    }
+
+    public boolean isWritable() {
+        return !mapped.isReadOnly();
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.a2048game.logic.ai;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.GameManager;
+import com.example.a2048game.logic.MoveTables;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Versión multihilo de ExpectimaxSearcher. Reparte en tareas ForkJoin las 4 direcciones raíz
+ * y, dentro de cada una, la primera capa de azar (cada casilla vacía con un 2 o un 4).
+ * Todas las tareas comparten una ConcurrentTranspositionTable.
+ * Llamar a shutdown() al terminar para liberar los hilos del pool.
+ */
+public class ParallelExpectimaxSearcher {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final ForkJoinPool pool;
+    private final BoardEvaluator evaluator;
+    private final SearchCache table;
+    private volatile float probabilityThreshold = ExpectimaxSearcher.DEFAULT_PROBABILITY_THRESHOLD;
+
+    public ParallelExpectimaxSearcher(int threads) {
+        this(threads, new HeuristicEvaluator(), new ConcurrentTranspositionTable(ExpectimaxSearcher.DEFAULT_TABLE_SIZE_LOG2 + 2));
+    }
+
+    // evaluator debe ser thread-safe; table debe admitir acceso concurrente
+    public ParallelExpectimaxSearcher(int threads, BoardEvaluator evaluator, SearchCache table) {
+        if (threads < 1) throw new IllegalArgumentException("threads debe ser >= 1");
+        this.pool = new ForkJoinPool(threads);
+        this.evaluator = evaluator;
+        this.table = table;
+    }
+
+    public void setProbabilityThreshold(float threshold) { this.probabilityThreshold = threshold; }
+
+    public int getParallelism() { return pool.getParallelism(); }
+
+    public SearchCache getTable() { return table; }
+
+    public SearchResult search(GameManager gm, int depth) {
+        return search(gm.getBoard().getPacked(), depth);
+    }
+
+    public SearchResult search(long board, int depth) {
+        if (depth < 1) throw new IllegalArgumentException("depth debe ser >= 1");
+        long start = System.nanoTime();
+        table.newSearch();
+        LongAdder nodes = new LongAdder();
+        List<RootTask> roots = new ArrayList<>(DIRECTIONS.length);
+        for (Direction dir : DIRECTIONS) {
+            long next = MoveTables.move(board, dir);
+            if (next != board) roots.add(new RootTask(dir, next, depth - 1, nodes));
+        }
+        Direction best = null;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        if (!roots.isEmpty()) {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(roots);
+                }
+            });
+            for (RootTask t : roots) {
+                if (t.result > bestScore) {
+                    bestScore = t.result;
+                    best = t.dir;
+                }
+            }
+        }
+        return new SearchResult(best, best == null ? 0f : bestScore, depth, nodes.sum(), System.nanoTime() - start);
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Nodo de azar tras mover en 'dir': reparte una subtarea por casilla vacía y valor
+    private class RootTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final Direction dir;
+        final long board;
+        final int depth;
+        final LongAdder nodes;
+        float result;
+
+        RootTask(Direction dir, long board, int depth, LongAdder nodes) {
+            this.dir = dir;
+            this.board = board;
+            this.depth = depth;
+            this.nodes = nodes;
+        }
+
+        @Override
+        protected void compute() {
+            float threshold = probabilityThreshold;
+            if (depth <= 0) {
+                nodes.increment();
+                result = evaluator.evaluate(board);
+                return;
+            }
+            int empty = 0;
+            for (int i = 0; i < 16; i++) if (((board >>> (i << 2)) & 0xF) == 0) empty++;
+            if (empty == 0) {
+                ExpectimaxSearcher worker = newWorker(threshold);
+                result = worker.maxNode(board, depth, 1f);
+                nodes.add(worker.getNodes());
+                return;
+            }
+            float cellProb = 1f / empty;
+            List<SpawnTask> spawns = new ArrayList<>(empty * 2);
+            for (int i = 0; i < 16; i++) {
+                int s = i << 2;
+                if (((board >>> s) & 0xF) != 0) continue;
+                spawns.add(new SpawnTask(board | (1L << s), depth, cellProb * 0.9f, nodes));
+                spawns.add(new SpawnTask(board | (2L << s), depth, cellProb * 0.1f, nodes));
+            }
+            invokeAll(spawns);
+            float sum = 0f;
+            for (int k = 0; k < spawns.size(); k += 2) {
+                sum += 0.9f * spawns.get(k).result + 0.1f * spawns.get(k + 1).result;
+            }
+            result = sum / empty;
+            nodes.increment();
+            table.put(board, depth, result);
+        }
+    }
+
+    private class SpawnTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final long board;
+        final int depth;
+        final float prob;
+        final LongAdder nodes;
+        float result;
+
+        SpawnTask(long board, int depth, float prob, LongAdder nodes) {
+            this.board = board;
+            this.depth = depth;
+            this.prob = prob;
+            this.nodes = nodes;
+        }
+
+        @Override
+        protected void compute() {
+            ExpectimaxSearcher worker = newWorker(probabilityThreshold);
+            result = worker.maxNode(board, depth, prob);
+            nodes.add(worker.getNodes());
+        }
+    }
+
+    private ExpectimaxSearcher newWorker(float threshold) {
+        ExpectimaxSearcher worker = new ExpectimaxSearcher(evaluator, table);
+        worker.setProbabilityThreshold(threshold);
+        return worker;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.a2048game.logic.ai;
+
+// Caché de valores de nodos de azar indexada por tablero y profundidad restante
+public interface SearchCache {
+
+    // Valor guardado con al menos esa profundidad, o NaN si no hay
+    float get(long key, int depth);
+
+    void put(long key, int depth, float value);
+
+    // Marca el inicio de una nueva búsqueda: las entradas anteriores pasan a ser reemplazables
+    void newSearch();
+
+    void clear();
+
+    int capacity();
+
+    long getHits();
+
+    long getMisses();
+}
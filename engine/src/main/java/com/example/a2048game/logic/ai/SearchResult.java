@@ -0,0 +1,30 @@
+package com.example.a2048game.logic.ai;
+
+import com.example.a2048game.logic.Direction;
+
+// Resultado de una búsqueda: mejor dirección (null si no hay movimientos) y estadísticas
+public class SearchResult {
+    public final Direction bestMove;
+    public final float score;
+    public final int depth;
+    public final long nodes;
+    public final long elapsedNanos;
+
+    public SearchResult(Direction bestMove, float score, int depth, long nodes, long elapsedNanos) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double nodesPerSecond() {
+        return elapsedNanos <= 0 ? 0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult{" + bestMove + ", depth=" + depth + ", nodes=" + nodes
+                + ", ms=" + (elapsedNanos / 1e6) + ", nodes/s=" + (long) nodesPerSecond() + "}";
+    }
+}
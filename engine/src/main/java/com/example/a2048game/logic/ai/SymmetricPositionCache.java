@@ -0,0 +1,143 @@
+package com.example.a2048game.logic.ai;
+
+import com.example.a2048game.model.BoardSymmetry;
+
+import java.util.Arrays;
+
+/**
+ * Caché de valores (un solo hilo) que guarda cada posición por su forma canónica
+ * (BoardSymmetry.canonical), así que los 8 giros/reflejos de un tablero comparten entrada.
+ * Solo es correcta si el evaluador da el mismo valor a tableros simétricos, como
+ * HeuristicEvaluator (salvo redondeo de float).
+ *
+ * Direccionamiento abierto con sondeo lineal de PROBE ranuras y claves long primitivas;
+ * el número de ranuras sale del presupuesto de memoria (16 bytes por ranura).
+ * Al insertar con la ventana llena se desaloja la entrada de una búsqueda más antigua,
+ * o si no la de menor profundidad; nunca una más profunda de la búsqueda actual.
+ * La generación recorre 1..255 y al dar la vuelta todas las entradas pasan a la 0, como en
+ * TranspositionTable.
+ */
+public class SymmetricPositionCache implements SearchCache {
+
+    public static final int BYTES_PER_SLOT = 16;
+    private static final int PROBE = 4;
+
+    private final long[] keys;
+    // bits 0-31 valor float, 32-39 profundidad + 1 (0 = vacía), 40-47 generación
+    private final long[] data;
+    private final int mask;
+    private final int shift;
+    private int generation = 0;
+
+    private long hits;
+    private long misses;
+    private long stores;
+    private long evictions;
+    private int size;
+
+    public SymmetricPositionCache(long memoryBudgetBytes) {
+        long slots = Long.highestOneBit(Math.max(PROBE, memoryBudgetBytes / BYTES_PER_SLOT));
+        if (slots > 1 << 28) throw new IllegalArgumentException("Presupuesto de memoria demasiado grande: " + memoryBudgetBytes);
+        int sizeLog2 = Long.numberOfTrailingZeros(slots);
+        keys = new long[(int) slots];
+        data = new long[(int) slots];
+        mask = (int) slots - 1;
+        shift = 64 - sizeLog2;
+    }
+
+    private int index(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift) & mask;
+    }
+
+    private static int depthOf(long d) {
+        return (int) ((d >>> 32) & 0xFF);
+    }
+
+    private static int generationOf(long d) {
+        return (int) ((d >>> 40) & 0xFF);
+    }
+
+    @Override
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+        if (generation == 0) {
+            for (int i = 0; i < data.length; i++) data[i] &= ~(0xFFL << 40);
+            generation = 1;
+        }
+    }
+
+    @Override
+    public float get(long key, int depth) {
+        long c = BoardSymmetry.canonical(key);
+        int i = index(c);
+        for (int p = 0; p < PROBE; p++, i = (i + 1) & mask) {
+            long d = data[i];
+            if (d == 0) break;
+            if (keys[i] == c) {
+                if (depthOf(d) - 1 >= depth) {
+                    hits++;
+                    return Float.intBitsToFloat((int) d);
+                }
+                break;
+            }
+        }
+        misses++;
+        return Float.NaN;
+    }
+
+    @Override
+    public void put(long key, int depth, float value) {
+        long c = BoardSymmetry.canonical(key);
+        long entry = (Float.floatToRawIntBits(value) & 0xFFFFFFFFL) | ((long) (depth + 1) << 32) | ((long) generation << 40);
+        int i = index(c);
+        int victim = -1;
+        int victimScore = Integer.MAX_VALUE;
+        for (int p = 0; p < PROBE; p++, i = (i + 1) & mask) {
+            long d = data[i];
+            if (d == 0) {
+                keys[i] = c;
+                data[i] = entry;
+                size++;
+                stores++;
+                return;
+            }
+            if (keys[i] == c) {
+                if (generationOf(d) == generation && depthOf(d) - 1 > depth) return;
+                data[i] = entry;
+                stores++;
+                return;
+            }
+            // primero las de búsquedas anteriores, luego las menos profundas
+            int score = (generationOf(d) == generation ? 256 : 0) + depthOf(d);
+            if (score < victimScore) {
+                victimScore = score;
+                victim = i;
+            }
+        }
+        if (victimScore >= 256 && victimScore - 256 > depth + 1) return;
+        keys[victim] = c;
+        data[victim] = entry;
+        stores++;
+        evictions++;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(data, 0L);
+        size = 0;
+        hits = misses = stores = evictions = 0;
+    }
+
+    @Override public int capacity() { return keys.length; }
+    @Override public long getHits() { return hits; }
+    @Override public long getMisses() { return misses; }
+    public long getStores() { return stores; }
+    public long getEvictions() { return evictions; }
+    public int size() { return size; }
+    public long memoryBytes() { return (long) keys.length * BYTES_PER_SLOT; }
+
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.a2048game.logic.ai;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de transposición (un solo hilo) de tamaño fijo indexada por el hash del tablero empaquetado.
+ * Cada ranura guarda una sola entrada. Política de reemplazo: una entrada de una búsqueda
+ * anterior (otra generación) siempre se sobrescribe; dentro de la misma búsqueda solo se
+ * sustituye si la nueva entrada tiene igual o mayor profundidad restante.
+ *
+ * La generación cabe en un byte y recorre 1..255; al dar la vuelta todas las entradas pasan a
+ * la generación 0, que ya no se usa, para que una de hace 256 búsquedas no parezca actual.
+ */
+public class TranspositionTable implements SearchCache {
+
+    private final long[] keys;
+    private final float[] values;
+    // profundidad + 1, 0 = ranura vacía
+    private final byte[] depths;
+    private final byte[] generations;
+    private final int mask;
+    private final int shift;
+    private byte generation = 0;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public TranspositionTable(int sizeLog2) {
+        if (sizeLog2 < 1 || sizeLog2 > 28) throw new IllegalArgumentException("sizeLog2 fuera de rango: " + sizeLog2);
+        int size = 1 << sizeLog2;
+        keys = new long[size];
+        values = new float[size];
+        depths = new byte[size];
+        generations = new byte[size];
+        mask = size - 1;
+        shift = 64 - sizeLog2;
+    }
+
+    private int index(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift) & mask;
+    }
+
+    @Override
+    public void newSearch() {
+        if (++generation == 0) {
+            Arrays.fill(generations, (byte) 0);
+            generation = 1;
+        }
+    }
+
+    @Override
+    public float get(long key, int depth) {
+        int i = index(key);
+        if (depths[i] != 0 && keys[i] == key && depths[i] - 1 >= depth) {
+            hits++;
+            return values[i];
+        }
+        misses++;
+        return Float.NaN;
+    }
+
+    @Override
+    public void put(long key, int depth, float value) {
+        int i = index(key);
+        if (depths[i] != 0 && keys[i] != key) {
+            if (generations[i] == generation && depths[i] - 1 > depth) return;
+            evictions++;
+        }
+        keys[i] = key;
+        values[i] = value;
+        depths[i] = (byte) (depth + 1);
+        generations[i] = generation;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(depths, (byte) 0);
+        hits = misses = evictions = 0;
+    }
+
+    @Override public int capacity() { return keys.length; }
+    @Override public long getHits() { return hits; }
+    @Override public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+}
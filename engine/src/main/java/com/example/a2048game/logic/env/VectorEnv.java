@@ -0,0 +1,137 @@
+package com.example.a2048game.logic.env;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.GameManager;
+import com.example.a2048game.logic.GameRandom;
+import com.example.a2048game.logic.MoveTables;
+
+/**
+ * N partidas independientes para aprendizaje por refuerzo, al estilo de los entornos vectorizados
+ * de gym: el estado vive en arrays primitivos (un long empaquetado por entorno, ver BitBoard) y
+ * step() los avanza todos a la vez sin crear objetos. Mismas reglas que GameManager
+ * (MoveTables + GameManager.spawnRandomTile); la recompensa es lo que suma el movimiento a la
+ * puntuación (MoveTables.scoreGain).
+ *
+ * Cada entorno tiene su propio GameRandom (semilla seed + i), así que el resultado no depende de
+ * cómo se reparta el lote: step(actions, from, to) sobre rangos disjuntos puede ejecutarse en
+ * hilos distintos a la vez. Las acciones son el ordinal de Direction (0 UP, 1 DOWN, 2 LEFT, 3 RIGHT).
+ */
+public final class VectorEnv {
+
+    public static final int ACTION_COUNT = 4;
+    private static final Direction[] ACTIONS = Direction.values();
+
+    // Estado tras el último step(); los arrays se reutilizan, quien los lea no debe modificarlos
+    public final long[] boards;
+    public final int[] rewards;
+    public final boolean[] done;
+    // puntuación acumulada de la partida en curso
+    public final int[] scores;
+    // con autoReset: tablero y puntuación finales de la partida que acabó en el último step()
+    public final long[] terminalBoards;
+    public final int[] terminalScores;
+
+    private final GameRandom[] randoms;
+    private boolean autoReset = false;
+
+    public VectorEnv(int size, long seed) {
+        if (size <= 0) throw new IllegalArgumentException("Tamaño no válido: " + size);
+        boards = new long[size];
+        rewards = new int[size];
+        done = new boolean[size];
+        scores = new int[size];
+        terminalBoards = new long[size];
+        terminalScores = new int[size];
+        randoms = new GameRandom[size];
+        for (int i = 0; i < size; i++) {
+            randoms[i] = new GameRandom(seed + i);
+            reset(i);
+        }
+    }
+
+    public int size() {
+        return boards.length;
+    }
+
+    /**
+     * Si está activo, un entorno que termina empieza otra partida en el mismo step(): done[i]
+     * queda a true, el final se copia a terminalBoards/terminalScores y boards[i] ya es la nueva.
+     */
+    public VectorEnv setAutoReset(boolean autoReset) {
+        this.autoReset = autoReset;
+        return this;
+    }
+
+    // Nueva partida en el entorno i (sigue la secuencia de su generador)
+    public void reset(int i) {
+        GameRandom random = randoms[i];
+        boards[i] = GameManager.spawnRandomTile(GameManager.spawnRandomTile(0L, random), random);
+        scores[i] = 0;
+        rewards[i] = 0;
+        done[i] = false;
+    }
+
+    public void resetAll() {
+        for (int i = 0; i < boards.length; i++) reset(i);
+    }
+
+    public void step(int[] actions) {
+        step(actions, 0, boards.length);
+    }
+
+    public void step(Direction[] actions) {
+        step(actions, 0, boards.length);
+    }
+
+    /**
+     * Avanza los entornos [from, to) con actions[i]. Un movimiento que no cambia el tablero no
+     * cuenta: recompensa 0 y sin ficha nueva. Sin autoReset, un entorno terminado no avanza
+     * hasta llamar a reset(i).
+     */
+    public void step(int[] actions, int from, int to) {
+        for (int i = from; i < to; i++) stepOne(i, actions[i]);
+    }
+
+    public void step(Direction[] actions, int from, int to) {
+        for (int i = from; i < to; i++) stepOne(i, actions[i].ordinal());
+    }
+
+    private void stepOne(int i, int action) {
+        long board = boards[i];
+        if (done[i] && !autoReset) {
+            rewards[i] = 0;
+            return;
+        }
+        Direction dir = ACTIONS[action];
+        long after = MoveTables.move(board, dir);
+        if (after == board) {
+            rewards[i] = 0;
+            done[i] = false;
+            return;
+        }
+        int reward = MoveTables.scoreGain(board, dir);
+        long next = GameManager.spawnRandomTile(after, randoms[i]);
+        int score = scores[i] + reward;
+        boolean over = !MoveTables.canMove(next);
+        if (over && autoReset) {
+            terminalBoards[i] = next;
+            terminalScores[i] = score;
+            reset(i);
+        } else {
+            boards[i] = next;
+            scores[i] = score;
+        }
+        rewards[i] = reward;
+        done[i] = over;
+    }
+
+    // Bit a de la máscara activo si la acción a cambia el tablero del entorno i
+    public int legalActions(int i) {
+        long board = boards[i];
+        int mask = 0;
+        for (int a = 0; a < ACTION_COUNT; a++) {
+            if (MoveTables.move(board, ACTIONS[a]) != board) mask |= 1 << a;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.a2048game.logic.sim;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.GameManager;
+import com.example.a2048game.logic.GameRandom;
+import com.example.a2048game.logic.MoveTables;
+import com.example.a2048game.metrics.EngineMetrics;
+import com.example.a2048game.model.BitBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Juega N partidas completas sin interfaz con las reglas de GameManager (MoveTables + aparición
+ * de un 2 al 90% / 4 al 10% en una casilla vacía al azar). La partida i usa la semilla
+ * seed + i, así que los resultados no dependen del número de hilos, y GameManager.newGame(seed + i)
+ * reproduce la misma partida si la política es determinista.
+ */
+public class BatchSimulator {
+
+    private final Policy.Factory policyFactory;
+    private int games = 1000;
+    private long seed = 0L;
+    private int workers = 1;
+    private int maxMovesPerGame = 1_000_000;
+    private EngineMetrics metrics;
+
+    public BatchSimulator(Policy.Factory policyFactory) {
+        this.policyFactory = policyFactory;
+    }
+
+    public BatchSimulator setGames(int games) { this.games = games; return this; }
+    public BatchSimulator setSeed(long seed) { this.seed = seed; return this; }
+    public BatchSimulator setWorkers(int workers) { this.workers = Math.max(1, workers); return this; }
+    public BatchSimulator setMaxMovesPerGame(int maxMoves) { this.maxMovesPerGame = maxMoves; return this; }
+    // Tiempos de aplicar movimiento, aparición y fin de partida (sin contar la política)
+    public BatchSimulator setMetrics(EngineMetrics metrics) { this.metrics = metrics; return this; }
+
+    public SimulationReport run() throws InterruptedException {
+        final int[] scores = new int[games];
+        final int[] moves = new int[games];
+        final byte[] maxExponents = new byte[games];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger illegal = new AtomicInteger();
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                futures.add(pool.submit(() -> {
+                    Policy policy = policyFactory.create();
+                    int g;
+                    while ((g = next.getAndIncrement()) < games) {
+                        illegal.addAndGet(playGame(policy, seed + g, g, scores, moves, maxExponents));
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Fallo en un hilo del simulador", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new SimulationReport(scores, moves, maxExponents, illegal.get(), elapsed, workers);
+    }
+
+    // Devuelve el número de movimientos ilegales que propuso la política
+    private int playGame(Policy policy, long gameSeed, int g, int[] scores, int[] moves, byte[] maxExponents) {
+        GameRandom random = new GameRandom(gameSeed);
+        policy.newGame(gameSeed);
+        long board = GameManager.spawnRandomTile(GameManager.spawnRandomTile(0L, random), random);
+        int score = 0;
+        int count = 0;
+        int illegal = 0;
+        EngineMetrics m = metrics;
+        while (count < maxMovesPerGame && canMove(board, m)) {
+            Direction dir = policy.chooseMove(board);
+            long t0 = m != null ? System.nanoTime() : 0;
+            long after = dir != null ? MoveTables.move(board, dir) : board;
+            if (after == board) {
+                // movimiento ilegal: usamos el primero válido para no bloquear la partida
+                illegal++;
+                for (Direction d : Direction.values()) {
+                    after = MoveTables.move(board, d);
+                    if (after != board) { dir = d; break; }
+                }
+            }
+            score += MoveTables.scoreGain(board, dir);
+            long t1 = m != null ? System.nanoTime() : 0;
+            board = GameManager.spawnRandomTile(after, random);
+            if (m != null) {
+                long t2 = System.nanoTime();
+                m.record(EngineMetrics.Op.SPAWN, t2 - t1);
+                m.record(EngineMetrics.Op.MOVE, t2 - t0);
+                m.recordMove(true);
+            }
+            count++;
+        }
+        scores[g] = score;
+        moves[g] = count;
+        maxExponents[g] = (byte) BitBoard.maxExponent(board);
+        return illegal;
+    }
+
+    private static boolean canMove(long board, EngineMetrics m) {
+        if (m == null) return MoveTables.canMove(board);
+        long start = System.nanoTime();
+        boolean can = MoveTables.canMove(board);
+        m.record(EngineMetrics.Op.IS_GAME_OVER, System.nanoTime() - start);
+        return can;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.a2048game.logic.sim;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.ai.BoardEvaluator;
+import com.example.a2048game.logic.ai.ExpectimaxSearcher;
+import com.example.a2048game.logic.ai.TranspositionTable;
+
+public class ExpectimaxPolicy implements Policy {
+
+    private final ExpectimaxSearcher searcher;
+    private final int depth;
+
+    public ExpectimaxPolicy(int depth) {
+        this.searcher = new ExpectimaxSearcher();
+        this.depth = depth;
+    }
+
+    // El evaluador puede compartirse entre hilos si es de solo lectura (p. ej. NTupleNetwork)
+    public ExpectimaxPolicy(int depth, BoardEvaluator evaluator) {
+        this.searcher = new ExpectimaxSearcher(evaluator, new TranspositionTable(ExpectimaxSearcher.DEFAULT_TABLE_SIZE_LOG2));
+        this.depth = depth;
+    }
+
+    @Override
+    public Direction chooseMove(long board) {
+        return searcher.search(board, depth).bestMove;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.a2048game.logic.sim;
+
+import com.example.a2048game.logic.Direction;
+
+// Estrategia de juego para el simulador. Cada hilo usa su propia instancia.
+public interface Policy {
+
+    // Elige un movimiento para el tablero empaquetado (ver BitBoard)
+    Direction chooseMove(long board);
+
+    // Se llama al empezar cada partida con la semilla de esa partida
+    default void newGame(long seed) {}
+
+    interface Factory {
+        Policy create();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.a2048game.logic.sim;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.MoveTables;
+
+import java.util.SplittableRandom;
+
+// Elige al azar entre los movimientos que cambian el tablero
+public class RandomPolicy implements Policy {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private SplittableRandom random = new SplittableRandom();
+
+    @Override
+    public void newGame(long seed) {
+        random = new SplittableRandom(~seed);
+    }
+
+    @Override
+    public Direction chooseMove(long board) {
+        int start = random.nextInt(DIRECTIONS.length);
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            Direction d = DIRECTIONS[(start + i) & 3];
+            if (MoveTables.move(board, d) != board) return d;
+        }
+        return DIRECTIONS[start];
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.a2048game.logic.sim;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// Resultados de BatchSimulator: rendimiento y distribuciones de puntuación y ficha máxima
+public class SimulationReport {
+
+    private final int[] scores;
+    private final int[] moves;
+    private final byte[] maxExponents;
+    private final int illegalMoves;
+    private final long elapsedNanos;
+    private final int workers;
+    private final long totalMoves;
+
+    SimulationReport(int[] scores, int[] moves, byte[] maxExponents, int illegalMoves, long elapsedNanos, int workers) {
+        this.scores = scores;
+        this.moves = moves;
+        this.maxExponents = maxExponents;
+        this.illegalMoves = illegalMoves;
+        this.elapsedNanos = elapsedNanos;
+        this.workers = workers;
+        long total = 0;
+        for (int m : moves) total += m;
+        this.totalMoves = total;
+    }
+
+    public int getGames() { return scores.length; }
+    public long getTotalMoves() { return totalMoves; }
+    public int getIllegalMoves() { return illegalMoves; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public int getScore(int game) { return scores[game]; }
+    public int getMoves(int game) { return moves[game]; }
+    public int getMaxTile(int game) { return maxExponents[game] == 0 ? 0 : 1 << maxExponents[game]; }
+
+    public double gamesPerSecond() {
+        return elapsedNanos <= 0 ? 0 : scores.length * 1e9 / elapsedNanos;
+    }
+
+    public double movesPerSecond() {
+        return elapsedNanos <= 0 ? 0 : totalMoves * 1e9 / elapsedNanos;
+    }
+
+    public double meanScore() {
+        if (scores.length == 0) return 0;
+        long sum = 0;
+        for (int s : scores) sum += s;
+        return (double) sum / scores.length;
+    }
+
+    // Percentil (0-100) de la puntuación por partida
+    public int scorePercentile(double p) {
+        if (scores.length == 0) return 0;
+        int[] sorted = scores.clone();
+        Arrays.sort(sorted);
+        int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, idx))];
+    }
+
+    // Número de partidas cuya ficha máxima fue 2^exp
+    public int[] maxTileHistogram() {
+        int[] hist = new int[16];
+        for (byte e : maxExponents) hist[e]++;
+        return hist;
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "games=%d workers=%d time=%.2fs%n", scores.length, workers, elapsedNanos / 1e9));
+        sb.append(String.format(Locale.ROOT, "games/sec=%.1f moves/sec=%.0f moves=%d illegal=%d%n",
+                gamesPerSecond(), movesPerSecond(), totalMoves, illegalMoves));
+        sb.append(String.format(Locale.ROOT, "score: mean=%.1f min=%d p10=%d p50=%d p90=%d p99=%d max=%d%n",
+                meanScore(), scorePercentile(0), scorePercentile(10), scorePercentile(50),
+                scorePercentile(90), scorePercentile(99), scorePercentile(100)));
+        sb.append("max tile:\n");
+        int[] hist = maxTileHistogram();
+        for (int e = 1; e < hist.length; e++) {
+            if (hist[e] == 0) continue;
+            sb.append(String.format(Locale.ROOT, "  %6d  %7d  %6.2f%%%n", 1 << e, hist[e], hist[e] * 100.0 / scores.length));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
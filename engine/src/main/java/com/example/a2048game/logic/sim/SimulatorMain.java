@@ -0,0 +1,76 @@
+package com.example.a2048game.logic.sim;
+
+import com.example.a2048game.logic.ai.BoardEvaluator;
+import com.example.a2048game.logic.ai.NTupleNetwork;
+import com.example.a2048game.logic.train.SampleExporter;
+import com.example.a2048game.metrics.EngineMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Punto de entrada para ejecutar el simulador en una JVM normal:
+ *   java ... SimulatorMain --games 10000 --seed 1 --workers 8 --policy expectimax --depth 2 --metrics true
+ *   (--weights pesos.ntup usa una NTupleNetwork como evaluador de expectimax;
+ *    --export dir guarda las muestras de cada partida en shards de dir en vez de un informe)
+ */
+public class SimulatorMain {
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int games = 1000;
+        long seed = 1L;
+        int workers = Runtime.getRuntime().availableProcessors();
+        String policy = "random";
+        int depth = 2;
+        boolean withMetrics = false;
+        String weights = null;
+        String export = null;
+        long shardRecords = SampleExporter.DEFAULT_SHARD_RECORDS;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--games": games = Integer.parseInt(args[i + 1]); break;
+                case "--seed": seed = Long.parseLong(args[i + 1]); break;
+                case "--workers": workers = Integer.parseInt(args[i + 1]); break;
+                case "--policy": policy = args[i + 1]; break;
+                case "--depth": depth = Integer.parseInt(args[i + 1]); break;
+                case "--metrics": withMetrics = Boolean.parseBoolean(args[i + 1]); break;
+                case "--weights": weights = args[i + 1]; break;
+                case "--export": export = args[i + 1]; break;
+                case "--shard-records": shardRecords = Long.parseLong(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+        BoardEvaluator evaluator = weights != null ? NTupleNetwork.open(new File(weights)) : null;
+        if (export != null) {
+            long start = System.nanoTime();
+            List<File> shards = new SampleExporter(factoryFor(policy, depth, evaluator), new File(export))
+                    .setGames(games)
+                    .setSeed(seed)
+                    .setWorkers(workers)
+                    .setShardRecords(shardRecords)
+                    .run();
+            System.out.println("policy=" + policy + " games=" + games + " shards=" + shards.size()
+                    + " time=" + (System.nanoTime() - start) / 1_000_000 + "ms dir=" + export);
+            return;
+        }
+        EngineMetrics metrics = withMetrics ? new EngineMetrics() : null;
+        SimulationReport report = new BatchSimulator(factoryFor(policy, depth, evaluator))
+                .setGames(games)
+                .setSeed(seed)
+                .setWorkers(workers)
+                .setMetrics(metrics)
+                .run();
+        System.out.print("policy=" + policy + "\n" + report.format());
+        if (metrics != null) System.out.print(metrics.snapshot().format());
+    }
+
+    static Policy.Factory factoryFor(String name, final int depth, final BoardEvaluator evaluator) {
+        switch (name) {
+            case "random": return RandomPolicy::new;
+            case "expectimax":
+                return evaluator == null ? () -> new ExpectimaxPolicy(depth) : () -> new ExpectimaxPolicy(depth, evaluator);
+            default: throw new IllegalArgumentException("Política desconocida: " + name);
+        }
+    }
+}
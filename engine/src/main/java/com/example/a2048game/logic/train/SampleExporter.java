@@ -0,0 +1,180 @@
+package com.example.a2048game.logic.train;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.GameManager;
+import com.example.a2048game.logic.GameRandom;
+import com.example.a2048game.logic.MoveTables;
+import com.example.a2048game.logic.sim.Policy;
+import com.example.a2048game.model.BitBoard;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Juega partidas con una Policy (reglas y semillas como BatchSimulator: partida g con seed + g) y
+ * guarda cada posición con la dirección elegida y el resultado final de su partida en shards
+ * mapeados (ver SampleShard). Cada hilo acumula la partida en arrays propios y al terminarla
+ * reserva su bloque en el shard actual; solo el cambio de shard, cuando se llena, se sincroniza.
+ * Los shards se cierran al final de run(), cuando ya nadie escribe.
+ *
+ * run() borra antes los shards que hubiera en dir: SampleReader.open lee todos los del directorio
+ * y los de una exportación anterior con más shards se mezclarían con los nuevos.
+ */
+public class SampleExporter {
+
+    public static final String EXTENSION = ".g48d";
+    public static final long DEFAULT_SHARD_RECORDS = 1 << 22;
+
+    private final Policy.Factory policyFactory;
+    private final File dir;
+    private int games = 1000;
+    private long seed = 0L;
+    private int workers = 1;
+    private long shardRecords = DEFAULT_SHARD_RECORDS;
+    private int maxMovesPerGame = 1_000_000;
+
+    private final List<SampleShard> shards = new ArrayList<>();
+    private volatile SampleShard current;
+
+    public SampleExporter(Policy.Factory policyFactory, File dir) {
+        this.policyFactory = policyFactory;
+        this.dir = dir;
+    }
+
+    public SampleExporter setGames(int games) { this.games = games; return this; }
+    public SampleExporter setSeed(long seed) { this.seed = seed; return this; }
+    public SampleExporter setWorkers(int workers) { this.workers = Math.max(1, workers); return this; }
+    public SampleExporter setShardRecords(long records) { this.shardRecords = records; return this; }
+    public SampleExporter setMaxMovesPerGame(int maxMoves) { this.maxMovesPerGame = maxMoves; return this; }
+
+    // Devuelve los shards escritos, ya cerrados
+    public List<File> run() throws InterruptedException, IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("No se pudo crear " + dir);
+        deleteShards();
+        shards.clear();
+        current = newShard();
+        final AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                futures.add(pool.submit(() -> {
+                    Policy policy = policyFactory.create();
+                    GameBuffer buffer = new GameBuffer();
+                    int g;
+                    while ((g = next.getAndIncrement()) < games) {
+                        playGame(policy, seed + g, buffer);
+                        append(buffer);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Fallo en un hilo del exportador", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        List<File> files = new ArrayList<>(shards.size());
+        for (SampleShard s : shards) {
+            s.close();
+            files.add(s.getFile());
+        }
+        return files;
+    }
+
+    // Posiciones de una partida antes de conocer su resultado; se reutiliza entre partidas
+    private static final class GameBuffer {
+        long[] boards = new long[1024];
+        byte[] directions = new byte[1024];
+        int size;
+        int finalScore;
+        int finalMaxExponent;
+
+        void add(long board, Direction dir) {
+            if (size == boards.length) {
+                boards = Arrays.copyOf(boards, size * 2);
+                directions = Arrays.copyOf(directions, size * 2);
+            }
+            boards[size] = board;
+            directions[size] = (byte) dir.ordinal();
+            size++;
+        }
+    }
+
+    private void playGame(Policy policy, long gameSeed, GameBuffer buffer) {
+        GameRandom random = new GameRandom(gameSeed);
+        policy.newGame(gameSeed);
+        long board = GameManager.spawnRandomTile(GameManager.spawnRandomTile(0L, random), random);
+        int score = 0;
+        buffer.size = 0;
+        while (buffer.size < maxMovesPerGame && MoveTables.canMove(board)) {
+            Direction dir = policy.chooseMove(board);
+            long after = dir != null ? MoveTables.move(board, dir) : board;
+            if (after == board) {
+                // movimiento ilegal: como en BatchSimulator, el primero válido
+                for (Direction d : Direction.values()) {
+                    after = MoveTables.move(board, d);
+                    if (after != board) { dir = d; break; }
+                }
+            }
+            buffer.add(board, dir);
+            score += MoveTables.scoreGain(board, dir);
+            board = GameManager.spawnRandomTile(after, random);
+        }
+        buffer.finalScore = score;
+        buffer.finalMaxExponent = BitBoard.maxExponent(board);
+    }
+
+    private void append(GameBuffer buffer) throws IOException {
+        int written = 0;
+        while (written < buffer.size) {
+            SampleShard shard = current;
+            int n = (int) Math.min(buffer.size - written, shard.capacity());
+            long start = shard.reserve(n);
+            if (start < 0) {
+                rollShard(shard);
+                continue;
+            }
+            for (int k = 0; k < n; k++) {
+                int m = written + k;
+                shard.put(start + k, buffer.boards[m], buffer.directions[m], buffer.finalMaxExponent, m, buffer.finalScore);
+            }
+            // la partida cuenta en el shard donde empieza
+            if (written == 0) shard.addGames(1);
+            written += n;
+        }
+    }
+
+    private void deleteShards() throws IOException {
+        File[] old = dir.listFiles((d, name) -> name.endsWith(EXTENSION));
+        if (old == null) throw new IOException("No es un directorio: " + dir);
+        for (File f : old) {
+            if (!f.delete()) throw new IOException("No se pudo borrar " + f);
+        }
+    }
+
+    private synchronized void rollShard(SampleShard full) throws IOException {
+        if (current == full) current = newShard();
+    }
+
+    private SampleShard newShard() throws IOException {
+        File f = new File(dir, String.format(Locale.ROOT, "samples-%05d%s", shards.size(), EXTENSION));
+        SampleShard s = SampleShard.create(f, shardRecords);
+        shards.add(s);
+        return s;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.a2048game.logic.train;
+
+import com.example.a2048game.logic.GameRandom;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lectura de un conjunto de shards (ver SampleShard) como una sola secuencia de muestras:
+ * recorrido secuencial o lotes al azar, directamente sobre los archivos mapeados y sin crear
+ * objetos por muestra.
+ */
+public final class SampleReader {
+
+    public interface Visitor {
+        void visit(long board, int direction, int finalMaxExponent, int moveIndex, int finalScore);
+    }
+
+    private final SampleShard[] shards;
+    // starts[s] es el índice global del primer registro del shard s; starts[length] el total
+    private final long[] starts;
+
+    public SampleReader(List<SampleShard> shards) {
+        this.shards = shards.toArray(new SampleShard[0]);
+        starts = new long[this.shards.length + 1];
+        for (int s = 0; s < this.shards.length; s++) starts[s + 1] = starts[s] + this.shards[s].size();
+    }
+
+    // Todos los shards de dir con la extensión de SampleExporter, en orden de nombre
+    public static SampleReader open(File dir) throws IOException {
+        File[] files = dir.listFiles((d, name) -> name.endsWith(SampleExporter.EXTENSION));
+        if (files == null) throw new IOException("No es un directorio: " + dir);
+        Arrays.sort(files);
+        List<SampleShard> shards = new ArrayList<>(files.length);
+        for (File f : files) shards.add(SampleShard.open(f));
+        return new SampleReader(shards);
+    }
+
+    public long size() {
+        return starts[shards.length];
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    public long games() {
+        long n = 0;
+        for (SampleShard s : shards) n += s.games();
+        return n;
+    }
+
+    public void forEach(Visitor visitor) {
+        for (SampleShard shard : shards) {
+            long n = shard.size();
+            for (long i = 0; i < n; i++) {
+                visitor.visit(shard.board(i), shard.direction(i), shard.finalMaxExponent(i),
+                        shard.moveIndex(i), shard.finalScore(i));
+            }
+        }
+    }
+
+    /**
+     * Rellena las primeras n posiciones de los arrays con muestras elegidas al azar (con
+     * reemplazo). Cualquier array puede ser null si no hace falta.
+     */
+    public void sample(GameRandom random, int n, long[] boards, int[] directions, int[] finalScores) {
+        long total = size();
+        if (total == 0) throw new IllegalStateException("Sin muestras");
+        for (int k = 0; k < n; k++) {
+            long g = (long) (random.nextDouble() * total);
+            int s = shardOf(g);
+            SampleShard shard = shards[s];
+            long i = g - starts[s];
+            if (boards != null) boards[k] = shard.board(i);
+            if (directions != null) directions[k] = shard.direction(i);
+            if (finalScores != null) finalScores[k] = shard.finalScore(i);
+        }
+    }
+
+    private int shardOf(long g) {
+        int s = Arrays.binarySearch(starts, g);
+        // con shards vacíos hay inicios repetidos: el bueno es el último con ese inicio
+        if (s >= 0) {
+            while (s + 1 < shards.length && starts[s + 1] == g) s++;
+            return s;
+        }
+        return -s - 2;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.a2048game.logic.train;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Archivo de muestras de entrenamiento mapeado en memoria: cabecera de 64 bytes y registros de
+ * ancho fijo, todo little-endian.
+ *
+ * Cabecera: magic "G48D" (4), versión (4), bytes por registro (4), reservado (4),
+ *   capacidad en registros (8), registros escritos (8), partidas (8), reservado (24).
+ * Registro (16 bytes): tablero empaquetado (8), dirección elegida como ordinal de Direction (1),
+ *   exponente de la ficha máxima al final de la partida (1), número de movimiento dentro de la
+ *   partida (2, sin signo, satura), puntuación final de la partida (4).
+ *
+ * Escritura: cada productor reserva un bloque de registros con reserve() (un CAS sobre un
+ * AtomicLong) y lo rellena sin bloqueos; close() guarda el recuento en la cabecera y recorta el
+ * archivo a lo escrito, así que un shard que no se cerró se lee vacío. Tras close() el shard
+ * sigue legible pero reserve() y put() fallan: el mapeo de escritura ya no existe (tocarlo más
+ * allá del nuevo final del archivo mataría la JVM con SIGBUS). Lectura: open() y accesos por
+ * índice directos sobre el mapeo, sin copiar.
+ */
+public final class SampleShard {
+
+    static final int MAGIC = ('G' << 24) | ('4' << 16) | ('8' << 8) | 'D';
+    static final int VERSION = 1;
+    public static final int HEADER_BYTES = 64;
+    public static final int RECORD_BYTES = 16;
+    public static final long MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES;
+
+    private static final int OFF_CAPACITY = 16;
+    private static final int OFF_COUNT = 24;
+    private static final int OFF_GAMES = 32;
+
+    private final File file;
+    // de escritura hasta close(); después, de solo lectura sobre el archivo recortado
+    private MappedByteBuffer buf;
+    private final long capacity;
+    private final boolean writable;
+    // solo al escribir
+    private final AtomicLong reserved = new AtomicLong();
+    private final AtomicLong games = new AtomicLong();
+    private volatile boolean closed;
+    private long count;
+
+    private SampleShard(File file, MappedByteBuffer buf, long capacity, long count, boolean writable) {
+        this.file = file;
+        this.buf = buf;
+        this.capacity = capacity;
+        this.count = count;
+        this.writable = writable;
+    }
+
+    // Crea (o sobrescribe) un shard vacío con sitio para capacity registros
+    public static SampleShard create(File file, long capacity) throws IOException {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) throw new IllegalArgumentException("Capacidad no válida: " + capacity);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(0);
+            long length = HEADER_BYTES + capacity * RECORD_BYTES;
+            raf.setLength(length);
+            MappedByteBuffer buf = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(0, MAGIC);
+            buf.putInt(4, VERSION);
+            buf.putInt(8, RECORD_BYTES);
+            buf.putLong(OFF_CAPACITY, capacity);
+            return new SampleShard(file, buf, capacity, 0, true);
+        }
+    }
+
+    // Abre un shard cerrado en solo lectura
+    public static SampleShard open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long length = raf.length();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) throw invalid(file, "tamaño " + length);
+            MappedByteBuffer buf = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION || buf.getInt(8) != RECORD_BYTES) {
+                throw invalid(file, "cabecera");
+            }
+            long capacity = buf.getLong(OFF_CAPACITY);
+            long count = buf.getLong(OFF_COUNT);
+            if (count < 0 || count > capacity || HEADER_BYTES + count * RECORD_BYTES > length) {
+                throw invalid(file, "recuento " + count);
+            }
+            SampleShard shard = new SampleShard(file, buf, capacity, count, false);
+            shard.games.set(buf.getLong(OFF_GAMES));
+            return shard;
+        }
+    }
+
+    private static IOException invalid(File file, String what) {
+        return new IOException("Shard de muestras no válido (" + what + "): " + file);
+    }
+
+    /**
+     * Reserva n registros consecutivos y devuelve el primero, o -1 si no caben (el shard queda
+     * igual y hay que pasar a otro). Seguro desde varios hilos.
+     */
+    public long reserve(int n) {
+        checkOpen();
+        while (true) {
+            long start = reserved.get();
+            if (start + n > capacity) return -1;
+            if (reserved.compareAndSet(start, start + n)) return start;
+        }
+    }
+
+    // Escribe el registro index, que debe estar reservado por quien llama
+    public void put(long index, long board, int direction, int finalMaxExponent, int moveIndex, int finalScore) {
+        checkOpen();
+        int p = offset(index);
+        buf.putLong(p, board);
+        buf.put(p + 8, (byte) direction);
+        buf.put(p + 9, (byte) finalMaxExponent);
+        buf.putShort(p + 10, (short) Math.min(moveIndex, 0xFFFF));
+        buf.putInt(p + 12, finalScore);
+    }
+
+    public void addGames(int n) {
+        checkOpen();
+        games.addAndGet(n);
+    }
+
+    private void checkOpen() {
+        if (!writable || closed) throw new IllegalStateException("Shard cerrado o de solo lectura: " + file);
+    }
+
+    /**
+     * Guarda recuento y partidas en la cabecera y lo vuelca a disco. Solo cuando ningún productor
+     * siga escribiendo; todo lo reservado tiene que estar escrito.
+     */
+    public void close() throws IOException {
+        if (!writable || closed) return;
+        closed = true;
+        count = reserved.get();
+        MappedByteBuffer written = buf;
+        // nada de este objeto vuelve a tocar el mapeo completo una vez recortado el archivo
+        buf = null;
+        written.putLong(OFF_COUNT, count);
+        written.putLong(OFF_GAMES, games.get());
+        written.force();
+        int length = offset(count);
+        // recorta la capacidad sin usar; donde no se puede truncar un archivo mapeado
+        // (Windows) se queda entero, que también es válido
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length);
+        } catch (IOException e) {
+            System.err.println("No se pudo recortar " + file + ", queda con su capacidad: " + e);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            buf = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private static int offset(long index) {
+        return (int) (HEADER_BYTES + index * RECORD_BYTES);
+    }
+
+    public File getFile() { return file; }
+    public long capacity() { return capacity; }
+    // Registros legibles: los escritos al cerrar (o los reservados mientras se escribe)
+    public long size() { return writable && !closed ? reserved.get() : count; }
+    public long games() { return games.get(); }
+
+    public long board(long i) { return buf.getLong(offset(i)); }
+    public int direction(long i) { return buf.get(offset(i) + 8); }
+    public int finalMaxExponent(long i) { return buf.get(offset(i) + 9); }
+    public int moveIndex(long i) { return buf.getShort(offset(i) + 10) & 0xFFFF; }
+    public int finalScore(long i) { return buf.getInt(offset(i) + 12); }
+
+    // Vista de solo lectura de los registros (sin cabecera) para pasarla tal cual a otra librería
+    public ByteBuffer records() {
+        ByteBuffer d = buf.duplicate();
+        d.position(HEADER_BYTES);
+        d.limit(offset(size()));
+        ByteBuffer slice = d.slice().asReadOnlyBuffer();
+        slice.order(ByteOrder.LITTLE_ENDIAN);
+        return slice;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.a2048game.logic.train;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.GameManager;
+import com.example.a2048game.logic.GameRandom;
+import com.example.a2048game.logic.MoveTables;
+import com.example.a2048game.logic.ai.NTupleNetwork;
+import com.example.a2048game.model.BitBoard;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrena una NTupleNetwork por autojuego con TD(0) sobre posiciones tras mover (afterstates):
+ * en cada turno se elige la dirección que maximiza recompensa + V(afterstate) y se acerca
+ * V(afterstate anterior) a ese valor; al acabar la partida, a 0. Reglas de GameManager
+ * (MoveTables + GameManager.spawnRandomTile), partida g con semilla seed + g.
+ *
+ * Si la red viene de un checkpoint, la cuenta de partidas sigue desde las que guardaba
+ * (NTupleNetwork.getTrainedGames()): g, TrainingStats.totalGames y el checkpoint son acumulados.
+ *
+ * Todos los hilos actualizan la misma red sin bloqueos (ver NTupleNetwork.update), así que con
+ * más de un hilo el resultado no es determinista. Cada reportInterval partidas se publica un
+ * TrainingStats y, si toca, se guarda un checkpoint: la decisión se toma con el lock de la
+ * ventana y la copia se hace fuera, así que solo espera el hilo que la hace.
+ */
+public class TdTrainer {
+
+    public interface Listener {
+        // Se llama desde un hilo de entrenamiento, de uno en uno
+        void onStats(TrainingStats stats);
+    }
+
+    public static final float DEFAULT_LEARNING_RATE = 0.1f;
+    public static final int DEFAULT_REPORT_INTERVAL = 10_000;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int EXP_2048 = 11;
+
+    private final NTupleNetwork network;
+    private long games = 100_000;
+    private long seed = 0L;
+    private int workers = 1;
+    private float learningRate = DEFAULT_LEARNING_RATE;
+    private int reportInterval = DEFAULT_REPORT_INTERVAL;
+    private File checkpoint;
+    private long checkpointInterval;
+    private Listener listener;
+
+    // Ventana actual de la curva; protegida por synchronized (una vez por partida)
+    private long finished;
+    private int windowGames;
+    private long windowScore;
+    private int windowMaxScore;
+    private final int[] windowReached = new int[3];
+    private long startNanos;
+    private long windowStartNanos;
+    private long lastCheckpointGames;
+    // Serializa las copias al checkpoint; savedGames es la partida de la última escrita
+    private final Object saveLock = new Object();
+    private long savedGames;
+
+    public TdTrainer(NTupleNetwork network) {
+        if (!network.isWritable()) throw new IllegalArgumentException("La red debe abrirse para entrenar");
+        this.network = network;
+        finished = lastCheckpointGames = savedGames = network.getTrainedGames();
+    }
+
+    public TdTrainer setGames(long games) { this.games = games; return this; }
+    public TdTrainer setSeed(long seed) { this.seed = seed; return this; }
+    public TdTrainer setWorkers(int workers) { this.workers = Math.max(1, workers); return this; }
+    // Tasa total por paso; se reparte entre las características de la red
+    public TdTrainer setLearningRate(float rate) { this.learningRate = rate; return this; }
+    public TdTrainer setReportInterval(int games) { this.reportInterval = Math.max(1, games); return this; }
+    public TdTrainer setListener(Listener listener) { this.listener = listener; return this; }
+
+    // Guarda la red en file cada everyGames partidas (redondeado a la ventana) y al terminar
+    public TdTrainer setCheckpoint(File file, long everyGames) {
+        this.checkpoint = file;
+        this.checkpointInterval = Math.max(1, everyGames);
+        return this;
+    }
+
+    // Devuelve el número de partidas jugadas en esta llamada
+    public long run() throws InterruptedException, IOException {
+        final long first = finished;
+        final long end = first + games;
+        final AtomicLong next = new AtomicLong(first);
+        final float alpha = learningRate / network.getFeatureCount();
+        startNanos = windowStartNanos = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "td-trainer");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                futures.add(pool.submit(() -> {
+                    long g;
+                    while ((g = next.getAndIncrement()) < end) {
+                        long result = playGame(new GameRandom(seed + g), alpha);
+                        gameFinished((int) result, (int) (result >>> 32));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Fallo en un hilo de entrenamiento", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        long total;
+        synchronized (this) {
+            if (windowGames > 0) publishWindow();
+            total = finished;
+        }
+        if (checkpoint != null) saveCheckpoint(total);
+        return total - first;
+    }
+
+    /**
+     * Una partida de autojuego actualizando la red. Devuelve la puntuación en los 32 bits bajos
+     * y el exponente de la ficha máxima en los altos.
+     */
+    long playGame(GameRandom random, float alpha) {
+        long board = GameManager.spawnRandomTile(GameManager.spawnRandomTile(0L, random), random);
+        long previous = 0;
+        boolean hasPrevious = false;
+        int score = 0;
+        while (true) {
+            long bestAfter = 0;
+            float bestValue = Float.NEGATIVE_INFINITY;
+            int bestReward = 0;
+            for (Direction d : DIRECTIONS) {
+                long after = MoveTables.move(board, d);
+                if (after == board) continue;
+                int reward = MoveTables.scoreGain(board, d);
+                float value = reward + network.evaluate(after);
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestAfter = after;
+                    bestReward = reward;
+                }
+            }
+            if (bestValue == Float.NEGATIVE_INFINITY) break;
+            if (hasPrevious) network.update(previous, alpha * (bestValue - network.evaluate(previous)));
+            previous = bestAfter;
+            hasPrevious = true;
+            score += bestReward;
+            board = GameManager.spawnRandomTile(bestAfter, random);
+        }
+        if (hasPrevious) network.update(previous, -alpha * network.evaluate(previous));
+        return ((long) BitBoard.maxExponent(board) << 32) | (score & 0xFFFFFFFFL);
+    }
+
+    private void gameFinished(int score, int maxExponent) throws IOException {
+        long save;
+        synchronized (this) {
+            finished++;
+            windowGames++;
+            windowScore += score;
+            if (score > windowMaxScore) windowMaxScore = score;
+            for (int i = 0; i < windowReached.length; i++) {
+                if (maxExponent >= EXP_2048 + i) windowReached[i]++;
+            }
+            if (windowGames < reportInterval) return;
+            publishWindow();
+            if (checkpoint == null || finished - lastCheckpointGames < checkpointInterval) return;
+            save = lastCheckpointGames = finished;
+        }
+        // copiar cientos de MB con el lock pararía a todos los hilos al acabar su partida
+        saveCheckpoint(save);
+    }
+
+    private void saveCheckpoint(long total) throws IOException {
+        synchronized (saveLock) {
+            // una copia más nueva que esperaba antes que esta ya la ha sustituido
+            if (total <= savedGames && checkpoint.exists()) return;
+            network.save(checkpoint, total);
+            savedGames = total;
+        }
+    }
+
+    private void publishWindow() {
+        long now = System.nanoTime();
+        double n = windowGames;
+        TrainingStats stats = new TrainingStats(finished, windowGames, windowScore / n, windowMaxScore,
+                windowReached[0] / n, windowReached[1] / n, windowReached[2] / n,
+                now - windowStartNanos, now - startNanos);
+        windowGames = 0;
+        windowScore = 0;
+        windowMaxScore = 0;
+        for (int i = 0; i < windowReached.length; i++) windowReached[i] = 0;
+        windowStartNanos = now;
+        if (listener != null) listener.onStats(stats);
+    }
+}
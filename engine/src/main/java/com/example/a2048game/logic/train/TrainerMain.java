@@ -0,0 +1,96 @@
+package com.example.a2048game.logic.train;
+
+import com.example.a2048game.logic.ai.NTupleNetwork;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Entrenamiento por línea de comandos, pensado para dejarlo corriendo en una máquina sin GPU:
+ *   java ... TrainerMain --weights red.ntup --games 1000000 --workers 8 --tuples medium
+ *       --alpha 0.1 --report 10000 --checkpoint-every 100000 --csv curva.csv
+ * Se entrena sobre red.ntup.work y red.ntup solo se reemplaza con checkpoints completos; si ya
+ * existe, se continúa desde él y desde su número de partidas, así que la curva de --csv sigue
+ * acumulando. La curva sale por la salida estándar y, con --csv, a ese archivo.
+ * --tuples: small, medium (por defecto, ~16 MB de pesos) o standard (256 MB).
+ */
+public class TrainerMain {
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        String weights = null;
+        long games = 100_000;
+        long seed = System.nanoTime();
+        int workers = Runtime.getRuntime().availableProcessors();
+        String tuples = "medium";
+        float alpha = TdTrainer.DEFAULT_LEARNING_RATE;
+        int report = TdTrainer.DEFAULT_REPORT_INTERVAL;
+        long checkpointEvery = 100_000;
+        String csv = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--weights": weights = args[i + 1]; break;
+                case "--games": games = Long.parseLong(args[i + 1]); break;
+                case "--seed": seed = Long.parseLong(args[i + 1]); break;
+                case "--workers": workers = Integer.parseInt(args[i + 1]); break;
+                case "--tuples": tuples = args[i + 1]; break;
+                case "--alpha": alpha = Float.parseFloat(args[i + 1]); break;
+                case "--report": report = Integer.parseInt(args[i + 1]); break;
+                case "--checkpoint-every": checkpointEvery = Long.parseLong(args[i + 1]); break;
+                case "--csv": csv = args[i + 1]; break;
+                default: throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+        if (weights == null) throw new IllegalArgumentException("Falta --weights");
+
+        File target = new File(weights);
+        File work = new File(weights + ".work");
+        NTupleNetwork network;
+        if (target.exists()) {
+            Files.copy(target.toPath(), work.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            network = NTupleNetwork.openForTraining(work);
+            System.out.println("Continuando desde " + target + " (" + network.getTrainedGames() + " partidas)");
+        } else {
+            network = NTupleNetwork.create(work, tuplesFor(tuples));
+        }
+
+        final PrintWriter csvOut = csv != null ? new PrintWriter(new FileWriter(csv, true)) : null;
+        if (csvOut != null && new File(csv).length() == 0) {
+            csvOut.println(TrainingStats.csvHeader());
+            csvOut.flush();
+        }
+        try {
+            long played = new TdTrainer(network)
+                    .setGames(games)
+                    .setSeed(seed)
+                    .setWorkers(workers)
+                    .setLearningRate(alpha)
+                    .setReportInterval(report)
+                    .setCheckpoint(target, checkpointEvery)
+                    .setListener(stats -> {
+                        System.out.println(stats.format());
+                        if (csvOut != null) {
+                            csvOut.println(stats.toCsv());
+                            csvOut.flush();
+                        }
+                    })
+                    .run();
+            System.out.println("Entrenadas " + played + " partidas; pesos en " + target);
+        } finally {
+            if (csvOut != null) csvOut.close();
+        }
+        if (!work.delete()) work.deleteOnExit();
+    }
+
+    static int[][] tuplesFor(String name) {
+        switch (name) {
+            case "standard": return NTupleNetwork.STANDARD_TUPLES;
+            case "medium": return NTupleNetwork.MEDIUM_TUPLES;
+            case "small": return NTupleNetwork.SMALL_TUPLES;
+            default: throw new IllegalArgumentException("Tuplas desconocidas: " + name);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.a2048game.logic.train;
+
+import java.util.Locale;
+
+// Un punto de la curva de aprendizaje: resultados de las últimas windowGames partidas
+public final class TrainingStats {
+
+    public final long totalGames;
+    public final int windowGames;
+    public final double meanScore;
+    public final int maxScore;
+    // fracción de partidas de la ventana que llegaron al menos a esa ficha
+    public final double rate2048;
+    public final double rate4096;
+    public final double rate8192;
+    public final long windowNanos;
+    public final long elapsedNanos;
+
+    TrainingStats(long totalGames, int windowGames, double meanScore, int maxScore,
+                  double rate2048, double rate4096, double rate8192, long windowNanos, long elapsedNanos) {
+        this.totalGames = totalGames;
+        this.windowGames = windowGames;
+        this.meanScore = meanScore;
+        this.maxScore = maxScore;
+        this.rate2048 = rate2048;
+        this.rate4096 = rate4096;
+        this.rate8192 = rate8192;
+        this.windowNanos = windowNanos;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Ritmo de la ventana (el que importa si las partidas se alargan al mejorar)
+    public double gamesPerHour() {
+        return windowNanos <= 0 ? 0 : windowGames * 3.6e12 / windowNanos;
+    }
+
+    public static String csvHeader() {
+        return "games,mean_score,max_score,rate_2048,rate_4096,rate_8192,games_per_hour,elapsed_s";
+    }
+
+    public String toCsv() {
+        return String.format(Locale.ROOT, "%d,%.1f,%d,%.4f,%.4f,%.4f,%.0f,%.1f",
+                totalGames, meanScore, maxScore, rate2048, rate4096, rate8192, gamesPerHour(), elapsedNanos / 1e9);
+    }
+
+    public String format() {
+        return String.format(Locale.ROOT,
+                "games=%d mean=%.1f max=%d 2048=%.1f%% 4096=%.1f%% 8192=%.1f%% games/h=%.0f elapsed=%.0fs",
+                totalGames, meanScore, maxScore, rate2048 * 100, rate4096 * 100, rate8192 * 100,
+                gamesPerHour(), elapsedNanos / 1e9);
+    }
+}
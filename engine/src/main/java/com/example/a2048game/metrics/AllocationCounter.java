@@ -0,0 +1,83 @@
+package com.example.a2048game.metrics;
+
+import java.lang.reflect.Method;
+
+/**
+ * Bytes reservados por el hilo actual, si el runtime lo permite (HotSpot/OpenJDK a través de
+ * com.sun.management.ThreadMXBean). Se accede por reflexión porque esa API (ni java.lang.management)
+ * no existe en Android: allí isSupported() es false y currentThreadAllocatedBytes() devuelve -1.
+ * La propia lectura reserva unos pocos bytes (el Long devuelto); overhead() lo estima.
+ */
+public final class AllocationCounter {
+
+    private static final Object BEAN;
+    private static final Method CURRENT;   // getCurrentThreadAllocatedBytes() (JDK 14+)
+    private static final Method BY_ID;     // getThreadAllocatedBytes(long)
+    private static final long OVERHEAD;
+
+    static {
+        Object bean = null;
+        Method current = null;
+        Method byId = null;
+        try {
+            Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+            Object mx = Class.forName("java.lang.management.ManagementFactory").getMethod("getThreadMXBean").invoke(null);
+            if (type.isInstance(mx)) {
+                Method supported = type.getMethod("isThreadAllocatedMemorySupported");
+                if ((Boolean) supported.invoke(mx)) {
+                    type.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(mx, true);
+                    bean = mx;
+                    try {
+                        current = type.getMethod("getCurrentThreadAllocatedBytes");
+                    } catch (NoSuchMethodException e) {
+                        byId = type.getMethod("getThreadAllocatedBytes", long.class);
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            bean = null;
+            current = null;
+            byId = null;
+        }
+        BEAN = bean;
+        CURRENT = current;
+        BY_ID = byId;
+        long overhead = 0;
+        if (BEAN != null) {
+            // lo que cuesta una lectura vacía; el mínimo de varias para quitar ruido
+            overhead = Long.MAX_VALUE;
+            for (int i = 0; i < 16; i++) {
+                long a = read();
+                long b = read();
+                overhead = Math.min(overhead, b - a);
+            }
+            overhead = Math.max(0, overhead);
+        }
+        OVERHEAD = overhead;
+    }
+
+    private AllocationCounter() {}
+
+    public static boolean isSupported() {
+        return BEAN != null;
+    }
+
+    // Bytes reservados por este hilo desde que empezó, o -1 si no está soportado
+    public static long currentThreadAllocatedBytes() {
+        return BEAN == null ? -1 : read();
+    }
+
+    // Bytes que reserva la propia medición (restar a la diferencia de dos lecturas)
+    public static long overhead() {
+        return OVERHEAD;
+    }
+
+    private static long read() {
+        try {
+            if (CURRENT != null) return (Long) CURRENT.invoke(BEAN);
+            return (Long) BY_ID.invoke(BEAN, Thread.currentThread().getId());
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.a2048game.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro de métricas del motor: un histograma de latencia por operación, contadores de
+ * movimientos y, si el runtime lo soporta y se pide, bytes reservados por movimiento.
+ * Se puede compartir entre hilos (GameManager, el simulador, el guardado en disco).
+ * Se lee todo de una vez con snapshot(); Snapshot.format() da el informe en texto.
+ */
+public final class EngineMetrics {
+
+    public enum Op {
+        MOVE("move"),
+        SPAWN("spawn"),
+        IS_GAME_OVER("isGameOver"),
+        UNDO("undo"),
+        REDO("redo"),
+        PERSIST("persist");
+
+        final String label;
+
+        Op(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Op[] OPS = Op.values();
+
+    private final LatencyHistogram[] timers = new LatencyHistogram[OPS.length];
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder ignoredMoves = new LongAdder();
+    private final boolean trackAllocations;
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder allocationSamples = new LongAdder();
+    private final AtomicLong maxAllocatedBytes = new AtomicLong();
+    private volatile long startNanos = System.nanoTime();
+
+    public EngineMetrics() {
+        this(false);
+    }
+
+    // Medir reservas cuesta dos lecturas por reflexión por movimiento; solo si se pide
+    public EngineMetrics(boolean trackAllocations) {
+        this.trackAllocations = trackAllocations && AllocationCounter.isSupported();
+        for (int i = 0; i < timers.length; i++) timers[i] = new LatencyHistogram();
+    }
+
+    public boolean isTrackingAllocations() {
+        return trackAllocations;
+    }
+
+    public void record(Op op, long nanos) {
+        timers[op.ordinal()].record(nanos);
+    }
+
+    // Un movimiento aplicado (moved) o rechazado porque no cambiaba el tablero
+    public void recordMove(boolean moved) {
+        if (moved) moves.increment();
+        else ignoredMoves.increment();
+    }
+
+    public void recordAllocation(long bytes) {
+        if (bytes < 0) return;
+        allocatedBytes.add(bytes);
+        allocationSamples.increment();
+        long m = maxAllocatedBytes.get();
+        while (bytes > m && !maxAllocatedBytes.compareAndSet(m, bytes)) m = maxAllocatedBytes.get();
+    }
+
+    public LatencyHistogram timer(Op op) {
+        return timers[op.ordinal()];
+    }
+
+    public void reset() {
+        for (LatencyHistogram h : timers) h.reset();
+        moves.reset();
+        ignoredMoves.reset();
+        allocatedBytes.reset();
+        allocationSamples.reset();
+        maxAllocatedBytes.set(0);
+        startNanos = System.nanoTime();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    // Copia inmutable de todas las métricas en un instante
+    public static final class Snapshot {
+
+        public final long elapsedNanos;
+        public final long moves;
+        public final long ignoredMoves;
+        // -1 si no se midieron reservas
+        public final double bytesPerMove;
+        public final long maxBytesPerMove;
+        private final long[] count = new long[OPS.length];
+        private final double[] mean = new double[OPS.length];
+        private final long[] p50 = new long[OPS.length];
+        private final long[] p90 = new long[OPS.length];
+        private final long[] p99 = new long[OPS.length];
+        private final long[] max = new long[OPS.length];
+
+        private Snapshot(EngineMetrics m) {
+            elapsedNanos = System.nanoTime() - m.startNanos;
+            moves = m.moves.sum();
+            ignoredMoves = m.ignoredMoves.sum();
+            long samples = m.allocationSamples.sum();
+            bytesPerMove = m.trackAllocations && samples > 0 ? (double) m.allocatedBytes.sum() / samples : -1;
+            maxBytesPerMove = m.maxAllocatedBytes.get();
+            for (int i = 0; i < OPS.length; i++) {
+                LatencyHistogram h = m.timers[i];
+                count[i] = h.getCount();
+                mean[i] = h.getMean();
+                p50[i] = h.getValueAtPercentile(50);
+                p90[i] = h.getValueAtPercentile(90);
+                p99[i] = h.getValueAtPercentile(99);
+                max[i] = h.getMax();
+            }
+        }
+
+        public long count(Op op) { return count[op.ordinal()]; }
+
+        public double meanNanos(Op op) { return mean[op.ordinal()]; }
+
+        public long p50Nanos(Op op) { return p50[op.ordinal()]; }
+
+        public long p90Nanos(Op op) { return p90[op.ordinal()]; }
+
+        public long p99Nanos(Op op) { return p99[op.ordinal()]; }
+
+        public long maxNanos(Op op) { return max[op.ordinal()]; }
+
+        public double movesPerSecond() {
+            return elapsedNanos <= 0 ? 0 : moves * 1e9 / elapsedNanos;
+        }
+
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "elapsed=%.2fs moves=%d ignored=%d moves/sec=%.1f%n",
+                    elapsedNanos / 1e9, moves, ignoredMoves, movesPerSecond()));
+            if (bytesPerMove >= 0) {
+                sb.append(String.format(Locale.ROOT, "alloc/move: mean=%.1fB max=%dB%n", bytesPerMove, maxBytesPerMove));
+            }
+            sb.append(String.format(Locale.ROOT, "%-12s %10s %10s %10s %10s %10s %10s%n",
+                    "op", "count", "mean(us)", "p50(us)", "p90(us)", "p99(us)", "max(us)"));
+            for (int i = 0; i < OPS.length; i++) {
+                if (count[i] == 0) continue;
+                sb.append(String.format(Locale.ROOT, "%-12s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                        OPS[i].label, count[i], mean[i] / 1e3, p50[i] / 1e3, p90[i] / 1e3, p99[i] / 1e3, max[i] / 1e3));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.a2048game.model;
+
+/**
+ * Operaciones sobre el tablero empaquetado en un long: 16 celdas de 4 bits,
+ * cada una guarda el exponente del valor (0 = vacía, 1 = 2, 2 = 4 ... 15 = 32768).
+ * La celda (r, c) ocupa el nibble r * 4 + c, así que la fila r son los bits 16r..16r+15
+ * y la columna 0 es el nibble bajo de cada fila.
+ */
+public final class BitBoard {
+
+    public static final int CELLS = Board.SIZE * Board.SIZE;
+    public static final int MAX_EXPONENT = 15;
+    public static final long ROW_MASK = 0xFFFFL;
+    // bit bajo de cada nibble
+    private static final long LOW_BITS = 0x1111111111111111L;
+    // nibbles con vecino a la derecha (columnas 0..2) y con vecino debajo (filas 0..2)
+    private static final long HAS_RIGHT = 0x0111011101110111L;
+    private static final long HAS_BELOW = 0x0000111111111111L;
+
+    private BitBoard() {}
+
+    private static int shift(int r, int c) {
+        return (r * Board.SIZE + c) << 2;
+    }
+
+    public static int getExponent(long board, int r, int c) {
+        return (int) ((board >>> shift(r, c)) & 0xF);
+    }
+
+    public static long setExponent(long board, int r, int c, int exp) {
+        int s = shift(r, c);
+        return (board & ~(0xFL << s)) | ((long) (exp & 0xF) << s);
+    }
+
+    public static int getValue(long board, int r, int c) {
+        return toValue(getExponent(board, r, c));
+    }
+
+    public static long setValue(long board, int r, int c, int value) {
+        return setExponent(board, r, c, toExponent(value));
+    }
+
+    public static int toValue(int exp) {
+        return exp == 0 ? 0 : 1 << exp;
+    }
+
+    public static int toExponent(int value) {
+        if (value == 0) return 0;
+        if (value < 2 || (value & (value - 1)) != 0 || value > (1 << MAX_EXPONENT))
+            throw new IllegalArgumentException("Valor de celda no representable: " + value);
+        return Integer.numberOfTrailingZeros(value);
+    }
+
+    public static int getRow(long board, int r) {
+        return (int) ((board >>> (r << 4)) & ROW_MASK);
+    }
+
+    public static long transpose(long x) {
+        long a1 = x & 0xF0F00F0FF0F00F0FL;
+        long a2 = x & 0x0000F0F00000F0F0L;
+        long a3 = x & 0x0F0F00000F0F0000L;
+        long a = a1 | (a2 << 12) | (a3 >>> 12);
+        long b1 = a & 0xFF00FF0000FF00FFL;
+        long b2 = a & 0x00FF00FF00000000L;
+        long b3 = a & 0x00000000FF00FF00L;
+        return b1 | (b2 >>> 24) | (b3 << 24);
+    }
+
+    // Bit bajo de cada nibble que vale 0, sin bucles ni saltos
+    private static long zeroNibbles(long x) {
+        x |= x >>> 2;
+        x |= x >>> 1;
+        return ~x & LOW_BITS;
+    }
+
+    // Bit i a 1 si la celda i (orden fila a fila) está vacía
+    public static int emptyMask(long board) {
+        long m = zeroNibbles(board);
+        // junta los bits 0, 4, 8 ... 60 en los 16 bits bajos
+        m = (m | (m >>> 3)) & 0x0303030303030303L;
+        m = (m | (m >>> 6)) & 0x000F000F000F000FL;
+        m = (m | (m >>> 12)) & 0x000000FF000000FFL;
+        m = (m | (m >>> 24)) & 0xFFFFL;
+        return (int) m;
+    }
+
+    public static int countEmpty(long board) {
+        return Long.bitCount(zeroNibbles(board));
+    }
+
+    // Celda del k-ésimo bit a 1 de la máscara (k empieza en 0)
+    public static int selectBit(int mask, int k) {
+        for (; k > 0; k--) mask &= mask - 1;
+        return Integer.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Sin casillas vacías ni dos vecinas iguales (en fila o columna) que se puedan fusionar.
+     * Dos 32768 (exponente 15) no se fusionan, igual que en MoveTables.
+     */
+    public static boolean isGameOver(long board) {
+        long merge15 = board & (board >>> 1) & (board >>> 2) & (board >>> 3) & LOW_BITS;
+        long horizontal = zeroNibbles(board ^ (board >>> 4)) & HAS_RIGHT;
+        long vertical = zeroNibbles(board ^ (board >>> 16)) & HAS_BELOW;
+        return (zeroNibbles(board) | ((horizontal | vertical) & ~merge15)) == 0;
+    }
+
+    public static int maxExponent(long board) {
+        int max = 0;
+        for (int i = 0; i < CELLS; i++) {
+            int e = (int) ((board >>> (i << 2)) & 0xF);
+            if (e > max) max = e;
+        }
+        return max;
+    }
+
+    // Coloca el exponente 'exp' en la k-ésima casilla vacía (orden fila a fila)
+    public static long spawnAt(long board, int k, int exp) {
+        int empty = emptyMask(board);
+        if (k < 0 || k >= Integer.bitCount(empty)) return board;
+        return board | ((long) exp << (selectBit(empty, k) << 2));
+    }
+
+    // Conversión desde/hacia el formato plano (valores reales, fila a fila)
+    public static long fromValues(int[] flat) {
+        long b = 0;
+        for (int i = 0; i < CELLS; i++) b |= (long) toExponent(flat[i]) << (i << 2);
+        return b;
+    }
+
+    public static void toValues(long board, int[] out) {
+        for (int i = 0; i < CELLS; i++) out[i] = toValue((int) ((board >>> (i << 2)) & 0xF));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.a2048game.model;
+
+public class Board implements Cloneable {
+    public static final int SIZE = 4;
+    // 16 celdas de 4 bits (exponentes), ver BitBoard
+    private long packed;
+    // bit i = celda i vacía; se mantiene al día con cada cambio del tablero
+    private int emptyMask;
+
+    public Board() {
+        packed = 0L;
+        emptyMask = 0xFFFF;
+    }
+
+    public Board(long packed) {
+        setPacked(packed);
+    }
+
+    public long getPacked() {
+        return packed;
+    }
+
+    public void setPacked(long packed) {
+        this.packed = packed;
+        this.emptyMask = BitBoard.emptyMask(packed);
+    }
+
+    public int getEmptyMask() {
+        return emptyMask;
+    }
+
+    public int countEmpty() {
+        return Integer.bitCount(emptyMask);
+    }
+
+    // Pone el exponente en la k-ésima casilla vacía (orden fila a fila); devuelve la celda o -1
+    public int spawnAt(int k, int exp) {
+        if (k < 0 || k >= Integer.bitCount(emptyMask)) return -1;
+        int cell = BitBoard.selectBit(emptyMask, k);
+        packed |= (long) exp << (cell << 2);
+        if (exp != 0) emptyMask &= ~(1 << cell);
+        return cell;
+    }
+
+    /**
+     * Devuelve una copia: las celdas ya no son objetos Tile, así que getTile(r, c).setValue(v)
+     * no cambia el tablero (antes sí). Usar getValue/setValue.
+     */
+    @Deprecated
+    public Tile getTile(int r, int c) {
+        return new Tile(getValue(r, c));
+    }
+
+    public void setTile(int r, int c, Tile t) {
+        setValue(r, c, t != null ? t.getValue() : 0);
+    }
+
+    public int getValue(int r, int c) {
+        return BitBoard.getValue(packed, r, c);
+    }
+
+    public void setValue(int r, int c, int value) {
+        packed = BitBoard.setValue(packed, r, c, value);
+        int bit = 1 << (r * SIZE + c);
+        if (value == 0) emptyMask |= bit;
+        else emptyMask &= ~bit;
+    }
+
+    public Board clone() {
+        return new Board(packed);
+    }
+
+    public boolean isFull() {
+        return emptyMask == 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Board)) return false;
+        return packed == ((Board) o).packed;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (packed ^ (packed >>> 32));
+    }
+}
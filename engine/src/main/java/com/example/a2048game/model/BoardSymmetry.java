@@ -0,0 +1,59 @@
+package com.example.a2048game.model;
+
+/**
+ * Las 8 simetrías del tablero 4x4 (giros y reflejos) sobre el long empaquetado.
+ * Tableros simétricos son la misma posición para el juego: canonical() elige un
+ * representante común (el menor como entero sin signo) para usarlo como clave de caché.
+ */
+public final class BoardSymmetry {
+
+    public static final int COUNT = 8;
+
+    private BoardSymmetry() {}
+
+    // Invierte las columnas de cada fila (c -> 3 - c)
+    public static long flipHorizontal(long x) {
+        return ((x & 0x000F000F000F000FL) << 12)
+                | ((x & 0x00F000F000F000F0L) << 4)
+                | ((x >>> 4) & 0x00F000F000F000F0L)
+                | ((x >>> 12) & 0x000F000F000F000FL);
+    }
+
+    // Invierte el orden de las filas (r -> 3 - r)
+    public static long flipVertical(long x) {
+        return (x >>> 48)
+                | ((x >>> 16) & 0x00000000FFFF0000L)
+                | ((x << 16) & 0x0000FFFF00000000L)
+                | (x << 48);
+    }
+
+    /**
+     * Simetría número sym (0..7): bit 0 refleja horizontalmente, bit 1 verticalmente y bit 2
+     * traspone antes de reflejar. 0 es la identidad.
+     */
+    public static long transform(long board, int sym) {
+        long x = (sym & 4) != 0 ? BitBoard.transpose(board) : board;
+        if ((sym & 2) != 0) x = flipVertical(x);
+        if ((sym & 1) != 0) x = flipHorizontal(x);
+        return x;
+    }
+
+    public static long canonical(long board) {
+        long t = BitBoard.transpose(board);
+        long h = flipHorizontal(board);
+        long v = flipVertical(board);
+        long hv = flipVertical(h);
+        long th = flipHorizontal(t);
+        long tv = flipVertical(t);
+        long thv = flipVertical(th);
+        long min = board;
+        if (Long.compareUnsigned(h, min) < 0) min = h;
+        if (Long.compareUnsigned(v, min) < 0) min = v;
+        if (Long.compareUnsigned(hv, min) < 0) min = hv;
+        if (Long.compareUnsigned(t, min) < 0) min = t;
+        if (Long.compareUnsigned(th, min) < 0) min = th;
+        if (Long.compareUnsigned(tv, min) < 0) min = tv;
+        if (Long.compareUnsigned(thv, min) < 0) min = thv;
+        return min;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.a2048game.logic;
+
+import com.example.a2048game.model.BitBoard;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AsyncGameEngineTest {
+
+    @Test
+    public void synchronous_publishesStateWithMove() {
+        AsyncGameEngine engine = AsyncGameEngine.synchronous(0, new GameRandom(3));
+        final List<GameState> states = new ArrayList<>();
+        engine.addStateListener(states::add);
+        engine.restore(BitBoard.fromValues(new int[]{2, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}), 0, 0);
+        engine.move(Direction.LEFT);
+        assertEquals(2, states.size());
+        GameState s = engine.getState();
+        assertSame(states.get(1), s);
+        assertEquals(4, s.score);
+        assertEquals(1, s.moves);
+        assertTrue(s.canUndo);
+        assertNotNull(s.lastMove);
+        assertEquals(4, s.lastMove.getScoreDelta());
+        assertEquals(s.board, s.lastMove.getBoardAfter());
+        assertNull(states.get(0).lastMove);
+
+        engine.undo();
+        assertEquals(0, engine.getState().score);
+        assertNull(engine.getState().lastMove);
+    }
+
+    @Test
+    public void states_carryTheIdOfTheirCommand() {
+        AsyncGameEngine engine = AsyncGameEngine.synchronous(0, new GameRandom(5));
+        assertEquals(0, engine.getState().command);
+        long restore = engine.restore(BitBoard.fromValues(new int[]{2, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}), 0, 0);
+        assertEquals(restore, engine.getState().command);
+        long move = engine.move(Direction.LEFT);
+        assertNotEquals(restore, move);
+        assertEquals(move, engine.getState().command);
+        assertNotNull(engine.getState().lastMove);
+        long undo = engine.undo();
+        assertNotEquals(move, undo);
+        assertEquals(undo, engine.getState().command);
+        assertNull(engine.getState().lastMove);
+    }
+
+    @Test
+    public void restoreIfUntouched_dropsSavedGameOncePlayerMoved() {
+        long saved = BitBoard.fromValues(new int[]{2048, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2});
+        AsyncGameEngine fresh = AsyncGameEngine.synchronous(0, new GameRandom(6));
+        fresh.restoreIfUntouched(saved, 3000, 120);
+        assertEquals(saved, fresh.getState().board);
+        assertEquals(120, fresh.getState().moves);
+
+        // el jugador movió antes de que terminara la carga: su partida se queda
+        AsyncGameEngine engine = AsyncGameEngine.synchronous(0, new GameRandom(6));
+        Direction dir = Direction.LEFT;
+        for (Direction d : Direction.values()) {
+            if (MoveTables.move(engine.getState().board, d) != engine.getState().board) { dir = d; break; }
+        }
+        engine.move(dir);
+        GameState played = engine.getState();
+        assertEquals(1, played.moves);
+        engine.restoreIfUntouched(saved, 3000, 120);
+        assertEquals(played.board, engine.getState().board);
+        assertEquals(1, engine.getState().moves);
+        assertTrue(engine.getState().canUndo);
+
+        // ni tras deshacer hasta el principio
+        engine.undo();
+        engine.restoreIfUntouched(saved, 3000, 120);
+        assertNotEquals(saved, engine.getState().board);
+    }
+
+    @Test
+    public void threaded_runsCommandsOffCallerThread() throws Exception {
+        AsyncGameEngine engine = AsyncGameEngine.threaded(0, new GameRandom(4), Runnable::run);
+        try {
+            final Thread caller = Thread.currentThread();
+            final CountDownLatch done = new CountDownLatch(1);
+            final boolean[] offCaller = new boolean[1];
+            engine.execute(gm -> offCaller[0] = Thread.currentThread() != caller);
+            engine.addStateListener(state -> {
+                if (state.moves == 0 && state.score == 0 && state.version >= 2) done.countDown();
+            });
+            engine.newGame();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(offCaller[0]);
+            assertEquals(2, BitBoard.CELLS - BitBoard.countEmpty(engine.getState().board));
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
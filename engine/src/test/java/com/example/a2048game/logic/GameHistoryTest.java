@@ -0,0 +1,64 @@
+package com.example.a2048game.logic;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GameHistoryTest {
+
+    @Test
+    public void undoRedo_walksBackAndForth() {
+        GameHistory h = new GameHistory(3);
+        h.reset(10L, 0, 0, 0L);
+        h.record(11L, 4, 1, 0L);
+        h.record(12L, 8, 2, 0L);
+        assertTrue(h.undo());
+        assertEquals(11L, h.currentBoard());
+        assertEquals(4, h.currentScore());
+        assertTrue(h.undo());
+        assertEquals(10L, h.currentBoard());
+        assertFalse(h.undo());
+        assertTrue(h.redo());
+        assertTrue(h.redo());
+        assertEquals(12L, h.currentBoard());
+        assertEquals(2, h.currentMoves());
+        assertFalse(h.canRedo());
+    }
+
+    @Test
+    public void record_dropsRedoAndOldestEntries() {
+        GameHistory h = new GameHistory(2);
+        h.reset(0L, 0, 0, 0L);
+        for (int i = 1; i <= 5; i++) h.record(i, i, i, 0L);
+        assertEquals(2, h.undoDepth());
+        h.undo();
+        h.undo();
+        assertEquals(3L, h.currentBoard());
+        assertFalse(h.canUndo());
+        h.record(9L, 9, 9, 0L);
+        assertFalse(h.canRedo());
+        assertTrue(h.undo());
+        assertEquals(3L, h.currentBoard());
+    }
+
+    @Test
+    public void gameManager_multiLevelUndoAndRedo() {
+        GameManager gm = new GameManager(null, null, 0);
+        gm.restoreFromFlattened(new int[]{2, 2, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 8}, 0, 0);
+        long start = gm.getBoard().getPacked();
+        int played = 0;
+        for (Direction d : new Direction[]{Direction.LEFT, Direction.UP, Direction.RIGHT, Direction.DOWN}) {
+            if (gm.move(d)) played++;
+        }
+        long end = gm.getBoard().getPacked();
+        int endScore = gm.getScore();
+        for (int i = 0; i < played; i++) gm.undo();
+        assertEquals(start, gm.getBoard().getPacked());
+        assertEquals(0, gm.getScore());
+        assertFalse(gm.canUndo());
+        for (int i = 0; i < played; i++) gm.redo();
+        assertEquals(end, gm.getBoard().getPacked());
+        assertEquals(endScore, gm.getScore());
+        assertEquals(played, gm.getMoves());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.a2048game.logic;
+
+import com.example.a2048game.model.BitBoard;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MoveResultTest {
+
+    @Test
+    public void move_reportsSlidesMergesAndSpawn() {
+        GameManager gm = new GameManager(null, null, 0, new GameRandom(1));
+        // fila 0: [2, 2, 4, 0] -> izquierda: [4, 4, 0, 0]
+        gm.restore(BitBoard.fromValues(new int[]{2, 2, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}), 0, 0);
+        final MoveResult[] seen = new MoveResult[1];
+        gm.addMoveListener(new GameManager.OnMoveListener() {
+            @Override
+            public void onMove(MoveResult result) {
+                seen[0] = new MoveResult();
+                seen[0].copyFrom(result);
+            }
+        });
+        assertTrue(gm.move(Direction.LEFT));
+        MoveResult r = seen[0];
+        assertNotNull(r);
+        assertEquals(Direction.LEFT, r.getDirection());
+        assertEquals(4, r.getScoreDelta());
+        assertEquals(3, r.getTileCount());
+        assertEquals(0, r.getFrom(0));
+        assertEquals(0, r.getTo(0));
+        assertEquals(1, r.getFrom(1));
+        assertEquals(0, r.getTo(1));
+        assertTrue(r.isMerged(1));
+        assertEquals(2, r.getFrom(2));
+        assertEquals(1, r.getTo(2));
+        assertFalse(r.isMerged(2));
+        assertEquals(1, r.getMergeCount());
+        assertEquals(1, r.getMergeMask());
+        assertEquals(gm.getBoard().getPacked(), r.getBoardAfter());
+        int spawn = r.getSpawnCell();
+        assertTrue(spawn >= 2);
+        assertEquals(r.getSpawnExponent(), BitBoard.getExponent(r.getBoardAfter(), spawn >> 2, spawn & 3));
+    }
+
+    @Test
+    public void trace_rebuildsMovedBoard() {
+        Random rnd = new Random(5);
+        MoveResult r = new MoveResult();
+        for (int n = 0; n < 5000; n++) {
+            long board = 0;
+            for (int cell = 0; cell < 16; cell++) {
+                if (rnd.nextInt(3) > 0) board |= (long) (1 + rnd.nextInt(4)) << (cell << 2);
+            }
+            for (Direction dir : Direction.values()) {
+                long moved = MoveTables.move(board, dir);
+                r.set(dir, board, moved, moved, MoveTables.scoreGain(board, dir));
+                // aplicar los desplazamientos sobre un tablero vacío debe dar el mismo resultado
+                long rebuilt = 0;
+                for (int i = 0; i < r.getTileCount(); i++) {
+                    int exp = r.getExponent(i) + (r.isMerged(i) ? 1 : 0);
+                    int shift = r.getTo(i) << 2;
+                    if (r.isMerged(i)) rebuilt &= ~(0xFL << shift);
+                    rebuilt |= (long) exp << shift;
+                }
+                assertEquals(moved, rebuilt);
+                assertEquals(-1, r.getSpawnCell());
+            }
+        }
+    }
+}
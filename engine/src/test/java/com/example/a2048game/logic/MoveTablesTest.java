@@ -0,0 +1,155 @@
+package com.example.a2048game.logic;
+
+import com.example.a2048game.model.BitBoard;
+import com.example.a2048game.model.Board;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MoveTablesTest {
+
+    // Implementación original de GameManager.mergeLine, usada como referencia
+    private int refScore;
+    private int refMaxMerged;
+
+    private int[] refMergeLine(int[] oldLine) {
+        List<Integer> list = new ArrayList<>();
+        for (int v : oldLine) if (v != 0) list.add(v);
+        List<Integer> merged = new ArrayList<>();
+        int i = 0;
+        while (i < list.size()) {
+            if (i + 1 < list.size() && list.get(i).equals(list.get(i + 1))) {
+                int newVal = list.get(i) * 2;
+                merged.add(newVal);
+                refScore += newVal;
+                if (newVal > refMaxMerged) refMaxMerged = newVal;
+                i += 2;
+            } else {
+                merged.add(list.get(i));
+                i += 1;
+            }
+        }
+        while (merged.size() < Board.SIZE) merged.add(0);
+        int[] res = new int[Board.SIZE];
+        for (int j = 0; j < Board.SIZE; j++) res[j] = merged.get(j);
+        return res;
+    }
+
+    private Board refMove(Board src, Direction dir) {
+        Board b = src.clone();
+        for (int k = 0; k < Board.SIZE; k++) {
+            int[] line = new int[Board.SIZE];
+            for (int i = 0; i < Board.SIZE; i++) line[i] = b.getValue(rowOf(dir, k, i), colOf(dir, k, i));
+            int[] merged = refMergeLine(line);
+            for (int i = 0; i < Board.SIZE; i++) b.setValue(rowOf(dir, k, i), colOf(dir, k, i), merged[i]);
+        }
+        return b;
+    }
+
+    private static int rowOf(Direction dir, int k, int i) {
+        switch (dir) {
+            case UP: return i;
+            case DOWN: return Board.SIZE - 1 - i;
+            default: return k;
+        }
+    }
+
+    private static int colOf(Direction dir, int k, int i) {
+        switch (dir) {
+            case LEFT: return i;
+            case RIGHT: return Board.SIZE - 1 - i;
+            default: return k;
+        }
+    }
+
+    @Test
+    public void move_matchesReferenceOnRandomBoards() {
+        Random rnd = new Random(2048);
+        for (int n = 0; n < 20000; n++) {
+            long packed = 0;
+            for (int i = 0; i < 16; i++) {
+                // muchas celdas vacías y valores pequeños para provocar fusiones
+                int e = rnd.nextInt(3) == 0 ? 0 : rnd.nextInt(6);
+                packed |= (long) e << (i * 4);
+            }
+            for (Direction dir : Direction.values()) {
+                refScore = 0;
+                refMaxMerged = 0;
+                Board expected = refMove(new Board(packed), dir);
+                assertEquals(expected.getPacked(), MoveTables.move(packed, dir));
+                assertEquals(refScore, MoveTables.scoreGain(packed, dir));
+                assertEquals(refMaxMerged, BitBoard.toValue(MoveTables.maxMergedExponent(packed, dir)));
+            }
+        }
+    }
+
+    @Test
+    public void rowTables_mirrorEachOther() {
+        for (int row = 0; row < 1 << 16; row++) {
+            int rev = ((row >>> 12) & 0xF) | ((row >>> 4) & 0xF0) | ((row << 4) & 0xF00) | ((row << 12) & 0xF000);
+            int left = MoveTables.rowLeft(rev);
+            int leftRev = ((left >>> 12) & 0xF) | ((left >>> 4) & 0xF0) | ((left << 4) & 0xF00) | ((left << 12) & 0xF000);
+            assertEquals(leftRev, MoveTables.rowRight(row));
+        }
+    }
+
+    @Test
+    public void twoMaxTiles_doNotMerge() {
+        // la referencia (y el juego original) sí los fusionaba en 65536, que no cabe en un nibble
+        long row = BitBoard.fromValues(new int[]{32768, 32768, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        for (Direction dir : new Direction[]{Direction.LEFT, Direction.RIGHT}) {
+            assertEquals(0, MoveTables.scoreGain(row, dir));
+            assertEquals(0, MoveTables.maxMergedExponent(row, dir));
+        }
+        assertEquals(row, MoveTables.move(row, Direction.LEFT));
+        assertEquals(BitBoard.fromValues(new int[]{0, 0, 32768, 32768, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}),
+                MoveTables.move(row, Direction.RIGHT));
+        MoveResult r = new MoveResult();
+        r.set(Direction.RIGHT, row, MoveTables.move(row, Direction.RIGHT), MoveTables.move(row, Direction.RIGHT), 0);
+        assertEquals(0, r.getMergeCount());
+
+        // 16384 + 16384 sí llega a 32768
+        long below = BitBoard.fromValues(new int[]{16384, 16384, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        assertEquals(32768, MoveTables.scoreGain(below, Direction.LEFT));
+        assertEquals(15, MoveTables.maxMergedExponent(below, Direction.LEFT));
+
+        // tablero lleno cuya única pareja es la de 32768: partida terminada
+        long full = BitBoard.fromValues(new int[]{
+                32768, 32768, 2, 4,
+                2, 4, 8, 16,
+                4, 8, 16, 32,
+                8, 16, 32, 64});
+        assertFalse(MoveTables.canMove(full));
+    }
+
+    @Test
+    public void gameManager_keepsScoreAndUndoBehaviour() {
+        GameManager gm = new GameManager(null, null, 0);
+        gm.restoreFromFlattened(new int[]{2, 2, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}, 10, 3);
+        assertTrue(gm.move(Direction.LEFT));
+        assertEquals(10 + 4 + 8, gm.getScore());
+        assertEquals(4, gm.getBoard().getValue(0, 0));
+        assertEquals(8, gm.getBoard().getValue(0, 1));
+        assertEquals(4, gm.getMoves());
+        assertTrue(gm.canUndo());
+        gm.undo();
+        assertEquals(10, gm.getScore());
+        assertEquals(2, gm.getBoard().getValue(0, 1));
+    }
+
+    @Test
+    public void gameManager_firesWinOnMerging2048() {
+        final boolean[] won = {false};
+        GameManager gm = new GameManager(null, null, 0);
+        gm.setOnWinListener(() -> won[0] = true);
+        gm.restoreFromFlattened(new int[]{1024, 1024, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}, 0, 0);
+        assertTrue(gm.move(Direction.RIGHT));
+        assertTrue(won[0]);
+        assertEquals(2048, gm.getScore());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.a2048game.logic;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ReplayLogTest {
+
+    @Test
+    public void sameSeed_sameGame() {
+        GameManager a = new GameManager(null, null, 0, new GameRandom(99));
+        GameManager b = new GameManager(null, null, 0, new GameRandom(99));
+        assertEquals(a.getSeed(), b.getSeed());
+        Direction[] dirs = Direction.values();
+        for (int i = 0; i < 500; i++) {
+            Direction d = dirs[i % 4];
+            assertEquals(a.move(d), b.move(d));
+            assertEquals(a.getBoard().getPacked(), b.getBoard().getPacked());
+        }
+    }
+
+    @Test
+    public void recordingDisabled_keepsNoLogButSameGame() {
+        GameManager a = new GameManager(null, null, 0, new GameRandom(5));
+        GameManager b = new GameManager(null, null, 0, new GameRandom(5));
+        b.setReplayRecording(false);
+        assertNull(b.getReplayLog());
+        Direction[] dirs = Direction.values();
+        for (int i = 0; i < 200; i++) {
+            assertEquals(a.move(dirs[i % 4]), b.move(dirs[i % 4]));
+            assertEquals(a.getBoard().getPacked(), b.getBoard().getPacked());
+        }
+        b.newGame(3);
+        assertNull(b.getReplayLog());
+    }
+
+    @Test
+    public void replay_reconstructsGameIncludingUndoRedo() throws Exception {
+        GameManager gm = new GameManager(null, null, 0, new GameRandom(7));
+        Random rnd = new Random(1);
+        Direction[] dirs = Direction.values();
+        for (int i = 0; i < 3000 && !gm.isGameOver(); i++) {
+            int op = rnd.nextInt(10);
+            if (op == 0) gm.undo();
+            else if (op == 1) gm.redo();
+            else gm.move(dirs[rnd.nextInt(4)]);
+        }
+        ReplayLog log = gm.getReplayLog();
+        assertEquals(gm.getMoves(), log.size());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        log.writeTo(bos);
+        assertEquals(log.encodedSize(), bos.size());
+        ReplayLog read = ReplayLog.readFrom(new ByteArrayInputStream(bos.toByteArray()));
+        ReplayLog.State state = read.replay();
+        assertEquals(gm.getBoard().getPacked(), state.board);
+        assertEquals(gm.getScore(), state.score);
+
+        GameManager restored = new GameManager(null, null, 0, new GameRandom(123));
+        restored.restoreFromReplay(read);
+        assertEquals(gm.getBoard().getPacked(), restored.getBoard().getPacked());
+        // tras restaurar, los siguientes movimientos generan las mismas fichas
+        for (Direction d : dirs) {
+            assertEquals(gm.move(d), restored.move(d));
+            assertEquals(gm.getBoard().getPacked(), restored.getBoard().getPacked());
+        }
+    }
+
+    @Test
+    public void encodedSize_isTwoBitsPerMove() {
+        ReplayLog log = new ReplayLog(1L);
+        for (int i = 0; i < 10000; i++) log.append(Direction.values()[i & 3]);
+        assertEquals(16 + 2500, log.encodedSize());
+        assertEquals(Direction.RIGHT, log.get(9999));
+    }
+
+    @Test
+    public void readFrom_rejectsBadLengthsWithoutReservingThem() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ReplayLog(5L).writeTo(bytes);
+        byte[] valid = bytes.toByteArray();
+        for (int length : new int[]{-1, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE - 2}) {
+            ByteArrayOutputStream forged = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(forged);
+            out.write(valid, 0, 12);
+            out.writeInt(length);
+            out.write(new byte[10]);
+            try {
+                ReplayLog.readFrom(new ByteArrayInputStream(forged.toByteArray()));
+                fail("longitud " + length + " aceptada");
+            } catch (IOException expected) {
+                // ok: sin OutOfMemoryError por la longitud declarada
+            }
+        }
+    }
+}
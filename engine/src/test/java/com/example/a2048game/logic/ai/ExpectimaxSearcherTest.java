@@ -0,0 +1,121 @@
+package com.example.a2048game.logic.ai;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.MoveTables;
+import com.example.a2048game.model.BitBoard;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ExpectimaxSearcherTest {
+
+    @Test
+    public void search_returnsLegalMove() {
+        long board = BitBoard.fromValues(new int[]{2, 4, 8, 16, 4, 8, 16, 32, 0, 0, 0, 0, 0, 0, 0, 2});
+        SearchResult r = new ExpectimaxSearcher().search(board, 3);
+        assertNotNull(r.bestMove);
+        assertNotEquals(board, MoveTables.move(board, r.bestMove));
+        assertTrue(r.nodes > 0);
+    }
+
+    @Test
+    public void search_noMovesReturnsNull() {
+        long board = BitBoard.fromValues(new int[]{2, 4, 2, 4, 4, 2, 4, 2, 2, 4, 2, 4, 4, 2, 4, 2});
+        assertNull(new ExpectimaxSearcher().search(board, 2).bestMove);
+    }
+
+    @Test
+    public void search_prefersMergeIntoCorner() {
+        long board = BitBoard.fromValues(new int[]{1024, 1024, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        Direction d = new ExpectimaxSearcher().search(board, 2).bestMove;
+        assertTrue(d == Direction.LEFT || d == Direction.RIGHT);
+    }
+
+    @Test
+    public void table_keepsDeeperEntryWithinSameSearch() {
+        TranspositionTable t = new TranspositionTable(1);
+        t.newSearch();
+        // con 2 ranuras, buscamos dos claves que colisionen
+        long a = 1, b = 2;
+        while (!collides(t, a, b)) b++;
+        t.put(a, 3, 1f);
+        t.put(b, 1, 2f);
+        assertEquals(1f, t.get(a, 3), 0f);
+        t.newSearch();
+        t.put(b, 1, 2f);
+        assertTrue(Float.isNaN(t.get(a, 3)));
+        assertEquals(2f, t.get(b, 1), 0f);
+    }
+
+    @Test
+    public void table_oldEntryIsNotCurrentAfterGenerationWraps() {
+        TranspositionTable t = new TranspositionTable(1);
+        long a = 1, b = 2;
+        while (!collides(t, a, b)) b++;
+        t.clear();
+        t.newSearch();
+        t.put(a, 3, 1f);
+        // 256 búsquedas después la generación vuelve a valer lo mismo en un byte
+        for (int i = 0; i < 256; i++) t.newSearch();
+        t.put(b, 1, 2f);
+        assertEquals(2f, t.get(b, 1), 0f);
+        assertTrue(Float.isNaN(t.get(a, 3)));
+    }
+
+    @Test
+    public void parallelSearch_returnsLegalMove() {
+        long board = BitBoard.fromValues(new int[]{2, 4, 8, 16, 4, 8, 16, 32, 0, 0, 0, 0, 0, 0, 0, 2});
+        ParallelExpectimaxSearcher searcher = new ParallelExpectimaxSearcher(2);
+        try {
+            SearchResult r = searcher.search(board, 3);
+            assertNotNull(r.bestMove);
+            assertNotEquals(board, MoveTables.move(board, r.bestMove));
+            float sequential = new ExpectimaxSearcher().search(board, 3).score;
+            assertEquals(sequential, r.score, Math.abs(sequential) * 0.01f);
+        } finally {
+            searcher.shutdown();
+        }
+    }
+
+    @Test
+    public void concurrentTable_storesAndReplaces() {
+        ConcurrentTranspositionTable t = new ConcurrentTranspositionTable(4);
+        t.newSearch();
+        t.put(12345L, 2, 7.5f);
+        assertEquals(7.5f, t.get(12345L, 2), 0f);
+        assertEquals(7.5f, t.get(12345L, 1), 0f);
+        assertTrue(Float.isNaN(t.get(12345L, 3)));
+        assertTrue(Float.isNaN(t.get(54321L, 0)));
+    }
+
+    @Test
+    public void concurrentTable_generationWrapKeepsValuesButAgesThem() {
+        ConcurrentTranspositionTable t = new ConcurrentTranspositionTable(1);
+        long a = 1, b = 2;
+        while (true) {
+            t.clear();
+            t.put(a, 0, 0f);
+            t.put(b, 0, 0f);
+            if (Float.isNaN(t.get(a, 0))) break;
+            b++;
+        }
+        t.clear();
+        t.newSearch();
+        t.put(a, 3, 1f);
+        for (int i = 0; i < 255; i++) t.newSearch();
+        // tras la vuelta la entrada sigue siendo legible...
+        assertEquals(1f, t.get(a, 3), 0f);
+        t.newSearch();
+        // ...pero es de una búsqueda anterior y se sustituye
+        t.put(b, 1, 2f);
+        assertEquals(2f, t.get(b, 1), 0f);
+    }
+
+    private static boolean collides(TranspositionTable t, long a, long b) {
+        t.clear();
+        t.put(a, 0, 0f);
+        t.put(b, 0, 0f);
+        return Float.isNaN(t.get(a, 0));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.a2048game.logic.ai;
+
+import com.example.a2048game.logic.GameManager;
+import com.example.a2048game.logic.GameRandom;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class HintServiceTest {
+
+    private static long midGameBoard() {
+        GameRandom r = new GameRandom(31);
+        long board = 0;
+        for (int i = 0; i < 8; i++) board = GameManager.spawnRandomTile(board, r);
+        return board;
+    }
+
+    @Test
+    public void search_returnsNullWhenCancelled() {
+        ExpectimaxSearcher s = new ExpectimaxSearcher();
+        s.setCancellation(() -> true);
+        assertNull(s.search(midGameBoard(), 3));
+        s.setCancellation(null);
+        assertNotNull(s.search(midGameBoard(), 2).bestMove);
+    }
+
+    @Test
+    public void request_publishesDeeperResultsWithinBudget() throws Exception {
+        HintService hints = new HintService(Runnable::run);
+        try {
+            final List<SearchResult> results = new CopyOnWriteArrayList<>();
+            final CountDownLatch done = new CountDownLatch(1);
+            long start = System.nanoTime();
+            hints.request(midGameBoard(), 300, (board, result, finished) -> {
+                results.add(result);
+                if (finished) done.countDown();
+            });
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertFalse(results.isEmpty());
+            for (int i = 1; i < results.size(); i++) {
+                assertTrue(results.get(i).depth >= results.get(i - 1).depth);
+            }
+            assertNotNull(results.get(results.size() - 1).bestMove);
+        } finally {
+            hints.shutdown();
+        }
+    }
+
+    @Test
+    public void newRequest_cancelsStaleSearch() throws Exception {
+        HintService hints = new HintService(Runnable::run);
+        try {
+            final List<Long> staleBoards = new CopyOnWriteArrayList<>();
+            final CountDownLatch first = new CountDownLatch(1);
+            final long stale = midGameBoard();
+            hints.request(stale, 60_000, (board, result, finished) -> {
+                staleBoards.add(board);
+                first.countDown();
+            });
+            assertTrue(first.await(5, TimeUnit.SECONDS));
+            // la petición nueva solo puede empezar cuando la vieja haya abortado
+            final CountDownLatch done = new CountDownLatch(1);
+            long start = System.nanoTime();
+            hints.request(0x1L, 100, (board, result, finished) -> {
+                if (finished) done.countDown();
+            });
+            // como mucho una entrega vieja que ya hubiera pasado la comprobación de generación
+            int seen = staleBoards.size();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3));
+            assertTrue(staleBoards.size() <= seen + 1);
+        } finally {
+            hints.shutdown();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.a2048game.logic.ai;
+
+import com.example.a2048game.model.BitBoard;
+import com.example.a2048game.model.BoardSymmetry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class NTupleNetworkTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private static void writeWeight(File file, int[][] tuples, long index, float value) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(NTupleNetwork.headerBytes(tuples) + index * 4);
+            raf.writeInt(Integer.reverseBytes(Float.floatToIntBits(value)));
+        }
+    }
+
+    @Test
+    public void create_thenOpen_keepsTuplesAndZeroWeights() throws IOException {
+        File file = tmp.newFile("small.ntup");
+        NTupleNetwork created = NTupleNetwork.create(file, NTupleNetwork.SMALL_TUPLES);
+        assertTrue(created.isWritable());
+        assertEquals(5L * 65536, created.getWeightCount());
+        assertEquals(NTupleNetwork.headerBytes(NTupleNetwork.SMALL_TUPLES) + 5L * 65536 * 4, file.length());
+
+        NTupleNetwork opened = NTupleNetwork.open(file);
+        assertFalse(opened.isWritable());
+        assertEquals(5, opened.getTupleCount());
+        for (int i = 0; i < 5; i++) assertArrayEquals(NTupleNetwork.SMALL_TUPLES[i], opened.getTuple(i));
+        assertEquals(0f, opened.evaluate(0x0123456789ABCDEFL), 0f);
+    }
+
+    @Test
+    public void tupleSets_haveTheDocumentedFootprint() {
+        assertEquals((4L << 20) + 65536, NTupleNetwork.weightCount(NTupleNetwork.MEDIUM_TUPLES));
+        assertEquals(4L << 24, NTupleNetwork.weightCount(NTupleNetwork.STANDARD_TUPLES));
+        assertEquals(5L << 16, NTupleNetwork.weightCount(NTupleNetwork.SMALL_TUPLES));
+    }
+
+    @Test
+    public void evaluate_appliesEveryTupleInAllSymmetries() throws IOException {
+        int[][] tuples = {{0, 1, 2, 3}};
+        File file = tmp.newFile("row.ntup");
+        NTupleNetwork.create(file, tuples);
+        // fila con exponentes 1, 2, 0, 0 leída en el orden de la tupla
+        writeWeight(file, tuples, 0x1200, 1f);
+        writeWeight(file, tuples, 0x0000, 0.25f);
+        NTupleNetwork net = NTupleNetwork.open(file);
+
+        long board = BitBoard.fromValues(new int[]{2, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        // solo una de las 8 imágenes lee (1, 2, 0, 0); cuatro leen la fila 3 o la columna 3, vacías
+        float expected = 1f + 4 * 0.25f;
+        for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+            assertEquals(expected, net.evaluate(BoardSymmetry.transform(board, s)), 0f);
+        }
+    }
+
+    @Test
+    public void evaluate_isSymmetricWithRandomWeights() throws IOException {
+        File file = tmp.newFile("random.ntup");
+        int[][] tuples = NTupleNetwork.SMALL_TUPLES;
+        NTupleNetwork.create(file, tuples);
+        Random rnd = new Random(22);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            for (int i = 0; i < 2000; i++) {
+                raf.seek(NTupleNetwork.headerBytes(tuples) + 4L * rnd.nextInt((int) NTupleNetwork.weightCount(tuples)));
+                raf.writeInt(Integer.reverseBytes(Float.floatToIntBits(rnd.nextInt(100))));
+            }
+        }
+        NTupleNetwork net = NTupleNetwork.open(file);
+        for (int n = 0; n < 200; n++) {
+            long board = 0;
+            for (int i = 0; i < 16; i++) {
+                if (rnd.nextInt(4) > 0) board |= (long) rnd.nextInt(4) << (i << 2);
+            }
+            float v = net.evaluate(board);
+            for (int s = 1; s < BoardSymmetry.COUNT; s++) {
+                assertEquals(v, net.evaluate(BoardSymmetry.transform(board, s)), 0f);
+            }
+        }
+    }
+
+    @Test
+    public void save_storesTrainedGames_andUpgradesVersion1() throws IOException {
+        int[][] tuples = {{0, 1, 2, 3}};
+        // formato 1: sin el campo de partidas
+        File v1 = tmp.newFile("v1.ntup");
+        try (RandomAccessFile raf = new RandomAccessFile(v1, "rw")) {
+            for (int v : new int[]{NTupleNetwork.MAGIC, 1, 1, 4, 0, 1, 2, 3}) raf.writeInt(Integer.reverseBytes(v));
+            raf.setLength(raf.length() + 65536 * 4L);
+            raf.seek(32 + 0x1200 * 4);
+            raf.writeInt(Integer.reverseBytes(Float.floatToIntBits(1f)));
+        }
+        NTupleNetwork old = NTupleNetwork.openForTraining(v1);
+        assertEquals(0, old.getTrainedGames());
+        long board = BitBoard.fromValues(new int[]{2, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        assertEquals(1f, old.evaluate(board), 0f);
+
+        File saved = new File(tmp.getRoot(), "v2.ntup");
+        old.save(saved, 12345);
+        assertEquals(NTupleNetwork.headerBytes(tuples) + 65536 * 4L, saved.length());
+        NTupleNetwork upgraded = NTupleNetwork.open(saved);
+        assertEquals(12345, upgraded.getTrainedGames());
+        assertEquals(1f, upgraded.evaluate(board), 0f);
+        // el archivo mapeado sigue como estaba
+        assertEquals(0, NTupleNetwork.open(v1).getTrainedGames());
+    }
+
+    @Test
+    public void open_rejectsTruncatedOrForeignFiles() throws IOException {
+        File file = tmp.newFile("bad.ntup");
+        NTupleNetwork.create(file, NTupleNetwork.SMALL_TUPLES);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 4);
+        }
+        try {
+            NTupleNetwork.open(file);
+            fail("archivo truncado aceptado");
+        } catch (IOException expected) {
+            // ok
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeInt(0);
+        }
+        try {
+            NTupleNetwork.open(file);
+            fail("cabecera ajena aceptada");
+        } catch (IOException expected) {
+            // ok
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.a2048game.logic.ai;
+
+import com.example.a2048game.model.BoardSymmetry;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SymmetricPositionCacheTest {
+
+    @Test
+    public void symmetricBoards_shareEntry() {
+        SymmetricPositionCache cache = new SymmetricPositionCache(1 << 16);
+        assertEquals(4096, cache.capacity());
+        long board = 0x0123456789ABCDEFL;
+        cache.put(board, 3, 42f);
+        for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+            assertEquals(42f, cache.get(BoardSymmetry.transform(board, s), 2), 0f);
+        }
+        assertTrue(Float.isNaN(cache.get(board, 4)));
+        assertEquals(8, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void fullTable_evictsWithinBudget() {
+        SymmetricPositionCache cache = new SymmetricPositionCache(64 * SymmetricPositionCache.BYTES_PER_SLOT);
+        Random rnd = new Random(23);
+        for (int i = 0; i < 1000; i++) {
+            cache.newSearch();
+            cache.put(rnd.nextLong(), 1, i);
+        }
+        assertEquals(64, cache.capacity());
+        assertTrue(cache.size() <= 64);
+        assertTrue(cache.getEvictions() > 0);
+        assertEquals(1000, cache.getStores());
+    }
+
+    @Test
+    public void generationWrap_letsOldEntriesBeEvicted() {
+        // 4 ranuras: una sola ventana de sondeo
+        SymmetricPositionCache cache = new SymmetricPositionCache(4 * SymmetricPositionCache.BYTES_PER_SLOT);
+        Random rnd = new Random(25);
+        cache.newSearch();
+        for (int i = 0; i < 4; i++) cache.put(rnd.nextLong(), 5, i);
+        for (int i = 0; i < 256; i++) cache.newSearch();
+        long fresh = rnd.nextLong();
+        cache.put(fresh, 1, 9f);
+        assertEquals(9f, cache.get(fresh, 1), 0f);
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    public void searcher_findsSameScoreWithSymmetricCache() {
+        Random rnd = new Random(24);
+        for (int n = 0; n < 20; n++) {
+            long board = 0;
+            for (int i = 0; i < 16; i++) {
+                if (rnd.nextInt(3) > 0) board |= (long) (1 + rnd.nextInt(6)) << (i << 2);
+            }
+            ExpectimaxSearcher plain = new ExpectimaxSearcher(new HeuristicEvaluator(), new TranspositionTable(16));
+            ExpectimaxSearcher sym = new ExpectimaxSearcher(new HeuristicEvaluator(), new SymmetricPositionCache(1 << 20));
+            SearchResult a = plain.search(board, 2);
+            SearchResult b = sym.search(board, 2);
+            if (a.bestMove == null) continue;
+            assertEquals(a.score, b.score, Math.abs(a.score) * 1e-4f);
+        }
+    }
+}
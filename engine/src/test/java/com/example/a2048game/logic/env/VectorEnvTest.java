@@ -0,0 +1,98 @@
+package com.example.a2048game.logic.env;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.GameManager;
+import com.example.a2048game.logic.GameRandom;
+import com.example.a2048game.logic.MoveTables;
+import com.example.a2048game.model.BitBoard;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VectorEnvTest {
+
+    // Primera acción legal a partir de una al azar
+    private static int pickLegal(int mask, Random rnd) {
+        int a = rnd.nextInt(VectorEnv.ACTION_COUNT);
+        for (int k = 0; k < VectorEnv.ACTION_COUNT; k++, a = (a + 1) & 3) {
+            if ((mask & (1 << a)) != 0) return a;
+        }
+        return 0;
+    }
+
+    @Test
+    public void step_followsGameManagerRules() {
+        long seed = 24;
+        VectorEnv env = new VectorEnv(3, seed);
+        GameRandom random = new GameRandom(seed + 2);
+        long board = GameManager.spawnRandomTile(GameManager.spawnRandomTile(0L, random), random);
+        int score = 0;
+        assertEquals(board, env.boards[2]);
+        Random rnd = new Random(1);
+        int[] actions = new int[3];
+        while (!env.done[2]) {
+            actions[2] = pickLegal(env.legalActions(2), rnd);
+            Direction dir = Direction.values()[actions[2]];
+            int gain = MoveTables.scoreGain(board, dir);
+            board = GameManager.spawnRandomTile(MoveTables.move(board, dir), random);
+            score += gain;
+            env.step(actions);
+            assertEquals(board, env.boards[2]);
+            assertEquals(gain, env.rewards[2]);
+            assertEquals(score, env.scores[2]);
+        }
+        assertFalse(MoveTables.canMove(board));
+        assertEquals(0, env.legalActions(2));
+        // terminado y sin autoReset: no avanza
+        env.step(actions);
+        assertEquals(board, env.boards[2]);
+        assertEquals(0, env.rewards[2]);
+    }
+
+    @Test
+    public void illegalAction_isNoOp() {
+        VectorEnv env = new VectorEnv(1, 5);
+        long board = BitBoard.fromValues(new int[]{2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        env.boards[0] = board;
+        env.step(new Direction[]{Direction.LEFT});
+        assertEquals(board, env.boards[0]);
+        assertEquals(0, env.rewards[0]);
+        assertFalse(env.done[0]);
+    }
+
+    @Test
+    public void splitAcrossThreads_matchesSequential() throws InterruptedException {
+        final int n = 64;
+        final VectorEnv sequential = new VectorEnv(n, 7).setAutoReset(true);
+        final VectorEnv split = new VectorEnv(n, 7).setAutoReset(true);
+        final int[] actions = new int[n];
+        Random rnd = new Random(8);
+        int finished = 0;
+        for (int step = 0; step < 400; step++) {
+            for (int i = 0; i < n; i++) actions[i] = pickLegal(sequential.legalActions(i), rnd);
+            sequential.step(actions);
+            Thread low = new Thread(() -> split.step(actions, 0, n / 2));
+            Thread high = new Thread(() -> split.step(actions, n / 2, n));
+            low.start();
+            high.start();
+            low.join();
+            high.join();
+            assertArrayEquals(sequential.boards, split.boards);
+            assertArrayEquals(sequential.rewards, split.rewards);
+            assertTrue(Arrays.equals(sequential.done, split.done));
+            for (int i = 0; i < n; i++) {
+                if (!sequential.done[i]) continue;
+                finished++;
+                assertFalse(MoveTables.canMove(sequential.terminalBoards[i]));
+                assertEquals(2, 16 - BitBoard.countEmpty(sequential.boards[i]));
+                assertEquals(0, sequential.scores[i]);
+                assertTrue(sequential.terminalScores[i] > 0);
+            }
+        }
+        assertTrue(finished > 0);
+    }
+}
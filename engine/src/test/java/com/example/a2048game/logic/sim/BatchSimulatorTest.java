@@ -0,0 +1,29 @@
+package com.example.a2048game.logic.sim;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BatchSimulatorTest {
+
+    @Test
+    public void sameSeed_sameResultsRegardlessOfWorkers() throws Exception {
+        SimulationReport one = new BatchSimulator(RandomPolicy::new).setGames(200).setSeed(7).setWorkers(1).run();
+        SimulationReport four = new BatchSimulator(RandomPolicy::new).setGames(200).setSeed(7).setWorkers(4).run();
+        assertEquals(one.getTotalMoves(), four.getTotalMoves());
+        for (int g = 0; g < 200; g++) {
+            assertEquals(one.getScore(g), four.getScore(g));
+            assertEquals(one.getMaxTile(g), four.getMaxTile(g));
+        }
+        assertEquals(0, one.getIllegalMoves());
+    }
+
+    @Test
+    public void report_histogramCoversAllGames() throws Exception {
+        SimulationReport r = new BatchSimulator(RandomPolicy::new).setGames(50).setSeed(1).run();
+        int total = 0;
+        for (int n : r.maxTileHistogram()) total += n;
+        assertEquals(50, total);
+        assertTrue(r.scorePercentile(100) >= r.scorePercentile(50));
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.a2048game.logic.train;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.GameManager;
+import com.example.a2048game.logic.GameRandom;
+import com.example.a2048game.logic.MoveTables;
+import com.example.a2048game.logic.sim.RandomPolicy;
+import com.example.a2048game.model.BitBoard;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SampleExporterTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void export_thenReadBack_replaysEveryGame() throws Exception {
+        File dir = tmp.newFolder("samples");
+        // shards pequeños para forzar varios y partidas repartidas entre dos
+        List<File> files = new SampleExporter(RandomPolicy::new, dir)
+                .setGames(200)
+                .setSeed(25)
+                .setWorkers(3)
+                .setShardRecords(5000)
+                .run();
+        assertTrue(files.size() > 1);
+
+        SampleReader reader = SampleReader.open(dir);
+        assertEquals(files.size(), reader.shardCount());
+        assertEquals(200, reader.games());
+        final long[] count = new long[1];
+        final long[] starts = new long[1];
+        reader.forEach((board, direction, finalMaxExponent, moveIndex, finalScore) -> {
+            count[0]++;
+            // cada muestra es un movimiento legal y el resultado final es coherente con el tablero
+            assertNotEquals(board, MoveTables.move(board, Direction.values()[direction]));
+            assertTrue(finalScore >= 0);
+            assertTrue(finalMaxExponent >= 1);
+            if (moveIndex == 0) {
+                starts[0]++;
+                assertEquals(2, 16 - BitBoard.countEmpty(board));
+            }
+        });
+        assertEquals(reader.size(), count[0]);
+        assertEquals(200, starts[0]);
+    }
+
+    @Test
+    public void samples_matchTheGameThatProducedThem() throws Exception {
+        File folder = tmp.newFolder("one");
+        new SampleExporter(RandomPolicy::new, folder).setGames(1).setSeed(9).run();
+        SampleShard shard = SampleShard.open(new File(folder, "samples-00000" + SampleExporter.EXTENSION));
+        GameRandom random = new GameRandom(9);
+        long board = GameManager.spawnRandomTile(GameManager.spawnRandomTile(0L, random), random);
+        int score = 0;
+        for (long i = 0; i < shard.size(); i++) {
+            assertEquals(board, shard.board(i));
+            assertEquals(i, shard.moveIndex(i));
+            Direction dir = Direction.values()[shard.direction(i)];
+            score += MoveTables.scoreGain(board, dir);
+            board = GameManager.spawnRandomTile(MoveTables.move(board, dir), random);
+        }
+        assertFalse(MoveTables.canMove(board));
+        assertEquals(score, shard.finalScore(0));
+        assertEquals(shard.size() * SampleShard.RECORD_BYTES, shard.records().remaining());
+    }
+
+    @Test
+    public void sample_drawsFromAllShards() throws Exception {
+        File dir = tmp.newFolder("rnd");
+        new SampleExporter(RandomPolicy::new, dir).setGames(50).setSeed(3).setShardRecords(1000).run();
+        SampleReader reader = SampleReader.open(dir);
+        long[] boards = new long[4096];
+        int[] dirs = new int[4096];
+        reader.sample(new GameRandom(1), boards.length, boards, dirs, null);
+        for (int k = 0; k < boards.length; k++) {
+            assertNotEquals(boards[k], MoveTables.move(boards[k], Direction.values()[dirs[k]]));
+        }
+    }
+
+    @Test
+    public void exportIntoUsedDir_replacesOldShards() throws Exception {
+        File dir = tmp.newFolder("again");
+        List<File> first = new SampleExporter(RandomPolicy::new, dir).setGames(100).setSeed(1).setShardRecords(1000).run();
+        List<File> second = new SampleExporter(RandomPolicy::new, dir).setGames(5).setSeed(2).setShardRecords(1000).run();
+        assertTrue(first.size() > second.size());
+        SampleReader reader = SampleReader.open(dir);
+        assertEquals(second.size(), reader.shardCount());
+        assertEquals(5, reader.games());
+    }
+
+    @Test
+    public void closedShard_isTruncatedReadableAndRejectsWrites() throws Exception {
+        File file = tmp.newFile("closed" + SampleExporter.EXTENSION);
+        SampleShard w = SampleShard.create(file, 1000);
+        assertEquals(0, w.reserve(2));
+        w.put(0, 0x34L, 1, 2, 0, 8);
+        w.put(1, 0x56L, 3, 2, 1, 8);
+        w.close();
+        assertEquals(SampleShard.HEADER_BYTES + 2 * SampleShard.RECORD_BYTES, file.length());
+        assertEquals(2, w.size());
+        assertEquals(0x56L, w.board(1));
+        try {
+            w.reserve(1);
+            fail("reserva tras close()");
+        } catch (IllegalStateException expected) {
+            // ok
+        }
+        try {
+            w.put(1, 0x78L, 0, 0, 0, 0);
+            fail("escritura tras close()");
+        } catch (IllegalStateException expected) {
+            // ok
+        }
+        w.close();
+        assertEquals(0x56L, SampleShard.open(file).board(1));
+    }
+
+    @Test
+    public void unclosedOrForeignShard_isRejectedOrEmpty() throws Exception {
+        File file = tmp.newFile("open" + SampleExporter.EXTENSION);
+        SampleShard w = SampleShard.create(file, 10);
+        assertEquals(0, w.reserve(4));
+        assertEquals(-1, w.reserve(7));
+        w.put(0, 0x12L, 2, 1, 0, 4);
+        // sin close() el recuento de la cabecera sigue a 0
+        assertEquals(0, SampleShard.open(file).size());
+        w.close();
+        assertEquals(4, SampleShard.open(file).size());
+        assertEquals(0x12L, SampleShard.open(file).board(0));
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeInt(0);
+        }
+        try {
+            SampleShard.open(file);
+            fail("cabecera ajena aceptada");
+        } catch (IOException expected) {
+            // ok
+        }
+    }
+}
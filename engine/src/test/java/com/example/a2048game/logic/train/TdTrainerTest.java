@@ -0,0 +1,102 @@
+package com.example.a2048game.logic.train;
+
+import com.example.a2048game.logic.ai.NTupleNetwork;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+public class TdTrainerTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void training_improvesScoreAndReportsEveryWindow() throws Exception {
+        NTupleNetwork net = NTupleNetwork.create(tmp.newFile("work.ntup"), NTupleNetwork.SMALL_TUPLES);
+        final List<TrainingStats> curve = new CopyOnWriteArrayList<>();
+        long played = new TdTrainer(net)
+                .setGames(3000)
+                .setSeed(23)
+                .setReportInterval(500)
+                .setListener(curve::add)
+                .run();
+        assertEquals(3000, played);
+        assertEquals(6, curve.size());
+        for (int i = 0; i < curve.size(); i++) {
+            assertEquals(500, curve.get(i).windowGames);
+            assertEquals(500L * (i + 1), curve.get(i).totalGames);
+            assertTrue(curve.get(i).gamesPerHour() > 0);
+        }
+        // con la red a 0 juega casi al azar; unas miles de partidas bastan para notar el aprendizaje
+        assertTrue(curve.get(5).meanScore > 1.5 * curve.get(0).meanScore);
+    }
+
+    @Test
+    public void parallelTraining_writesLoadableCheckpoints() throws Exception {
+        NTupleNetwork net = NTupleNetwork.create(tmp.newFile("work.ntup"), NTupleNetwork.SMALL_TUPLES);
+        File checkpoint = new File(tmp.getRoot(), "net.ntup");
+        final List<TrainingStats> curve = new CopyOnWriteArrayList<>();
+        new TdTrainer(net)
+                .setGames(1000)
+                .setWorkers(3)
+                .setReportInterval(300)
+                .setCheckpoint(checkpoint, 300)
+                .setListener(curve::add)
+                .run();
+        // 3 ventanas completas y el resto al terminar
+        assertEquals(4, curve.size());
+        assertEquals(100, curve.get(3).windowGames);
+        assertEquals(1000, curve.get(3).totalGames);
+        assertFalse(new File(checkpoint.getPath() + ".tmp").exists());
+
+        NTupleNetwork saved = NTupleNetwork.open(checkpoint);
+        long board = 0x0000000000120031L;
+        assertNotEquals(0f, saved.evaluate(board), 0f);
+        assertEquals(net.evaluate(board), saved.evaluate(board), 0f);
+    }
+
+    @Test
+    public void resumedTraining_continuesTheGameCount() throws Exception {
+        File checkpoint = new File(tmp.getRoot(), "net.ntup");
+        new TdTrainer(NTupleNetwork.create(tmp.newFile("a.ntup"), NTupleNetwork.SMALL_TUPLES))
+                .setGames(600)
+                .setWorkers(2)
+                .setReportInterval(200)
+                .setCheckpoint(checkpoint, 400)
+                .run();
+        assertEquals(600, NTupleNetwork.open(checkpoint).getTrainedGames());
+
+        // como TrainerMain: se entrena sobre una copia del checkpoint
+        File work = tmp.newFile("b.ntup");
+        Files.copy(checkpoint.toPath(), work.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        final List<TrainingStats> curve = new CopyOnWriteArrayList<>();
+        long played = new TdTrainer(NTupleNetwork.openForTraining(work))
+                .setGames(400)
+                .setWorkers(2)
+                .setReportInterval(200)
+                .setCheckpoint(checkpoint, 400)
+                .setListener(curve::add)
+                .run();
+        assertEquals(400, played);
+        assertEquals(2, curve.size());
+        assertEquals(800, curve.get(0).totalGames);
+        assertEquals(1000, curve.get(1).totalGames);
+        assertEquals(1000, NTupleNetwork.open(checkpoint).getTrainedGames());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readOnlyNetwork_isRejected() throws Exception {
+        File file = tmp.newFile("ro.ntup");
+        NTupleNetwork.create(file, NTupleNetwork.SMALL_TUPLES);
+        new TdTrainer(NTupleNetwork.open(file));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.a2048game.metrics;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.GameManager;
+import com.example.a2048game.logic.GameRandom;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EngineMetricsTest {
+
+    @Test
+    public void gameManager_recordsEveryOperation() {
+        EngineMetrics metrics = new EngineMetrics(true);
+        GameManager gm = new GameManager(null, null, 0, new GameRandom(9));
+        gm.setMetrics(metrics);
+        int moved = 0;
+        for (int i = 0; i < 200 && !gm.isGameOver(); i++) {
+            if (gm.move(Direction.values()[i & 3])) moved++;
+        }
+        gm.undo();
+        gm.redo();
+        EngineMetrics.Snapshot s = metrics.snapshot();
+        assertEquals(moved, s.moves);
+        assertEquals(s.count(EngineMetrics.Op.MOVE), s.moves + s.ignoredMoves);
+        assertEquals(moved, s.count(EngineMetrics.Op.SPAWN));
+        assertTrue(s.count(EngineMetrics.Op.IS_GAME_OVER) >= moved);
+        assertEquals(1, s.count(EngineMetrics.Op.UNDO));
+        assertEquals(1, s.count(EngineMetrics.Op.REDO));
+        assertTrue(s.p99Nanos(EngineMetrics.Op.MOVE) <= s.maxNanos(EngineMetrics.Op.MOVE));
+        if (AllocationCounter.isSupported()) assertTrue(s.bytesPerMove >= 0);
+        assertTrue(s.format().contains("move"));
+    }
+}
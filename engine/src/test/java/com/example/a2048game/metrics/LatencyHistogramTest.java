@@ -0,0 +1,34 @@
+package com.example.a2048game.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void buckets_coverValueWithinRelativeError() {
+        for (long v = 0; v < 1_000_000; v += 7) {
+            long upper = LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(v));
+            assertTrue(upper >= v);
+            assertTrue(upper - v <= Math.max(1, v / 16));
+        }
+        long big = Long.MAX_VALUE / 3;
+        assertTrue(LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(big)) >= big);
+    }
+
+    @Test
+    public void percentiles_followRecordedValues() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) h.record(i * 1000L);
+        assertEquals(1000, h.getCount());
+        assertEquals(1_000_000L, h.getMax());
+        assertEquals(500_500.0, h.getMean(), 1e-6);
+        long p50 = h.getValueAtPercentile(50);
+        assertTrue(p50 >= 500_000 && p50 <= 532_000);
+        assertEquals(1_000_000L, h.getValueAtPercentile(100));
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getValueAtPercentile(99));
+    }
+}
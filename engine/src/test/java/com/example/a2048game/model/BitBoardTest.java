@@ -0,0 +1,122 @@
+package com.example.a2048game.model;
+
+import com.example.a2048game.logic.Direction;
+import com.example.a2048game.logic.MoveTables;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BitBoardTest {
+
+    @Test
+    public void setAndGetValues_roundTrip() {
+        Board b = new Board();
+        b.setValue(0, 0, 2);
+        b.setValue(1, 2, 2048);
+        b.setValue(3, 3, 32768);
+        assertEquals(2, b.getValue(0, 0));
+        assertEquals(2048, b.getValue(1, 2));
+        assertEquals(32768, b.getValue(3, 3));
+        assertEquals(0, b.getValue(2, 1));
+        b.setValue(1, 2, 0);
+        assertEquals(0, b.getValue(1, 2));
+    }
+
+    @Test
+    public void clone_isIndependentCopy() {
+        Board b = new Board();
+        b.setValue(2, 3, 8);
+        Board copy = b.clone();
+        assertEquals(b, copy);
+        copy.setValue(2, 3, 16);
+        assertEquals(8, b.getValue(2, 3));
+        assertNotEquals(b, copy);
+    }
+
+    @Test
+    public void transpose_swapsRowsAndColumns() {
+        long board = 0;
+        for (int r = 0; r < Board.SIZE; r++)
+            for (int c = 0; c < Board.SIZE; c++)
+                board = BitBoard.setExponent(board, r, c, r * 4 + c);
+        long t = BitBoard.transpose(board);
+        for (int r = 0; r < Board.SIZE; r++)
+            for (int c = 0; c < Board.SIZE; c++)
+                assertEquals(BitBoard.getExponent(board, r, c), BitBoard.getExponent(t, c, r));
+        assertEquals(board, BitBoard.transpose(t));
+    }
+
+    @Test
+    public void flattened_roundTrip() {
+        int[] flat = {2, 0, 4, 8, 0, 0, 0, 16, 1024, 2048, 0, 0, 2, 2, 4, 4};
+        long packed = BitBoard.fromValues(flat);
+        int[] out = new int[16];
+        BitBoard.toValues(packed, out);
+        assertArrayEquals(flat, out);
+        assertEquals(6, BitBoard.countEmpty(packed));
+        assertEquals(11, BitBoard.maxExponent(packed));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setValue_rejectsNonPowerOfTwo() {
+        new Board().setValue(0, 0, 6);
+    }
+
+    @Test
+    public void emptyMask_matchesCellScan() {
+        Random rnd = new Random(11);
+        for (int n = 0; n < 20000; n++) {
+            long packed = randomBoard(rnd);
+            int expected = 0;
+            for (int i = 0; i < BitBoard.CELLS; i++) {
+                if (((packed >>> (i << 2)) & 0xF) == 0) expected |= 1 << i;
+            }
+            assertEquals(expected, BitBoard.emptyMask(packed));
+            assertEquals(Integer.bitCount(expected), BitBoard.countEmpty(packed));
+            Board b = new Board(packed);
+            assertEquals(expected, b.getEmptyMask());
+            int empty = Integer.bitCount(expected);
+            if (empty == 0) continue;
+            // la k-ésima vacía en orden fila a fila
+            int k = rnd.nextInt(empty);
+            int cell = -1;
+            for (int i = 0, seen = 0; i < BitBoard.CELLS; i++) {
+                if ((expected & (1 << i)) != 0 && seen++ == k) { cell = i; break; }
+            }
+            assertEquals(packed | (1L << (cell << 2)), BitBoard.spawnAt(packed, k, 1));
+            assertEquals(cell, b.spawnAt(k, 1));
+            assertEquals(BitBoard.emptyMask(b.getPacked()), b.getEmptyMask());
+        }
+    }
+
+    @Test
+    public void isGameOver_matchesMoveTables() {
+        Random rnd = new Random(12);
+        for (int n = 0; n < 50000; n++) {
+            // tableros llenos o casi, con exponentes pequeños para que haya parejas iguales
+            long packed = 0;
+            for (int i = 0; i < BitBoard.CELLS; i++) {
+                int exp = rnd.nextInt(40) == 0 ? 0 : 1 + rnd.nextInt(n % 2 == 0 ? 3 : 15);
+                packed |= (long) exp << (i << 2);
+            }
+            boolean canMove = false;
+            for (Direction d : Direction.values()) canMove |= MoveTables.move(packed, d) != packed;
+            assertEquals(!canMove, BitBoard.isGameOver(packed));
+        }
+        // dos 32768 juntos no se fusionan
+        long full15 = 0;
+        for (int i = 0; i < BitBoard.CELLS; i++) full15 |= (long) (i == 0 || i == 1 ? 15 : 1 + (((i >> 2) + i) & 1)) << (i << 2);
+        assertTrue(BitBoard.isGameOver(full15));
+    }
+
+    private static long randomBoard(Random rnd) {
+        long packed = 0;
+        for (int i = 0; i < BitBoard.CELLS; i++) {
+            if (rnd.nextInt(3) > 0) packed |= (long) (1 + rnd.nextInt(15)) << (i << 2);
+        }
+        return packed;
+    }
+}
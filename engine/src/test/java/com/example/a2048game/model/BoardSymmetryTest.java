@@ -0,0 +1,44 @@
+package com.example.a2048game.model;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class BoardSymmetryTest {
+
+    @Test
+    public void transforms_matchCellMapping() {
+        Random rnd = new Random(21);
+        long board = rnd.nextLong();
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 4; c++) {
+                int e = BitBoard.getExponent(board, r, c);
+                assertEquals(e, BitBoard.getExponent(BoardSymmetry.flipHorizontal(board), r, 3 - c));
+                assertEquals(e, BitBoard.getExponent(BoardSymmetry.flipVertical(board), 3 - r, c));
+                assertEquals(e, BitBoard.getExponent(BoardSymmetry.transform(board, 4), c, r));
+            }
+        }
+        // las 8 simetrías de un tablero sin simetría propia son distintas
+        Set<Long> all = new HashSet<>();
+        for (int s = 0; s < BoardSymmetry.COUNT; s++) all.add(BoardSymmetry.transform(board, s));
+        assertEquals(8, all.size());
+    }
+
+    @Test
+    public void canonical_isSameForAllSymmetries() {
+        Random rnd = new Random(22);
+        for (int n = 0; n < 10000; n++) {
+            long board = rnd.nextLong();
+            long canon = BoardSymmetry.canonical(board);
+            for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+                long t = BoardSymmetry.transform(board, s);
+                assertEquals(canon, BoardSymmetry.canonical(t));
+                assertTrue(Long.compareUnsigned(canon, t) <= 0);
+            }
+        }
+    }
+}
@@ -21,3 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "2048 Game"
 include(":app")
+include(":engine")
+include(":benchmark")